@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Compares cold start and resident memory of the JVM jar, the JVM jar with Spring AOT initialization and
+# the native image. Each mode is started RUNS times; a run reports the time until the HTTP port answers,
+# the RSS at that point and the RSS after WARMUP_REQUESTS requests to GET /book.
+#
+#   ./mvnw -Paot -DskipTests package      # JVM jar with AOT-generated initializers
+#   ./mvnw -Pnative -DskipTests package   # native image in target/assessment
+#   DB_URL=... DB_USER=... DB_PASS=... scripts/startup-benchmark.sh [runs]
+#
+# The database should already be migrated, so that every measured start only checks schema_history and validates.
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+WARMUP_REQUESTS=${WARMUP_REQUESTS:-200}
+JAR=$(ls target/assessment-*.jar 2>/dev/null | head -1 || true)
+NATIVE=target/assessment
+
+export SERVER_PORT=$PORT
+
+results=$(mktemp)
+trap 'rm -f "$results"' EXIT
+
+rss_mb() {
+  echo $(( $(ps -o rss= -p "$1" | tr -d ' ') / 1024 ))
+}
+
+measure() {
+  local mode=$1
+  shift
+  for run in $(seq 1 "$RUNS"); do
+    local start pid ready_ms
+    start=$(date +%s%N)
+    "$@" >/dev/null 2>&1 &
+    pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/actuator/info"; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$mode exited before answering; run it by hand to see why" >&2
+        exit 1
+      fi
+      sleep 0.02
+    done
+    ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+    local ready_rss
+    ready_rss=$(rss_mb "$pid")
+    for _ in $(seq 1 "$WARMUP_REQUESTS"); do
+      curl -s -o /dev/null "http://localhost:$PORT/book"
+    done
+    printf '%s\t%s\t%s\t%s\n' "$mode" "$ready_ms" "$ready_rss" "$(rss_mb "$pid")" | tee -a "$results"
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+  done
+}
+
+printf 'mode\tready ms\tRSS MB at ready\tRSS MB after warm-up\n'
+if [ -n "$JAR" ]; then
+  measure jvm java -jar "$JAR"
+  measure jvm-aot java -Dspring.aot.enabled=true -jar "$JAR"
+else
+  echo "no jar in target/, skipping the JVM modes" >&2
+fi
+if [ -x "$NATIVE" ]; then
+  measure native "$NATIVE"
+else
+  echo "no $NATIVE, skipping the native mode" >&2
+fi
+
+echo
+printf 'median\tready ms\tRSS MB at ready\tRSS MB after warm-up\n'
+for mode in jvm jvm-aot native; do
+  grep -q "^$mode	" "$results" || continue
+  row="$mode"
+  for column in 2 3 4; do
+    row="$row	$(grep "^$mode	" "$results" | cut -f"$column" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')"
+  done
+  echo "$row"
+done
@@ -0,0 +1,50 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.author.service.search.AuthorSearchStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AuthorSearchStrategyBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int bookCount;
+
+    @Param({"10"})
+    private int booksPerAuthor;
+
+    @Param({"most-books", "last-modified"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private AuthorRepository repository;
+    private AuthorSearchStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkCatalog.start(bookCount, booksPerAuthor);
+        repository = context.getBean(AuthorRepository.class);
+        strategy = context.getBeansOfType(AuthorSearchStrategy.class).values().stream()
+            .filter(candidate -> candidate.getQueryName().equals(query))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown author query: " + query));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object search() {
+        return strategy.search(repository);
+    }
+}
@@ -0,0 +1,108 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import com.capgemini.twilight.assessment.AssessmentApplication;
+import com.capgemini.twilight.assessment.author.service.AuthorBookCountReconciler;
+import com.capgemini.twilight.assessment.book.service.index.TitleIndex;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookLeaderboards;
+import com.capgemini.twilight.assessment.stats.service.BookRollups;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Boots the application against an in-process H2 database and seeds it with a deterministic
+ * catalog, so benchmarks run the real queries and mappings. {@link #start} runs without a web server
+ * for repository-level benchmarks; {@link #startServer} listens on a random port for load tests.
+ */
+final class BenchmarkCatalog {
+
+    static final LocalDate FIRST_PUBLICATION_DATE = LocalDate.of(1900, 1, 1);
+    static final int PUBLICATION_YEARS = 120;
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private BenchmarkCatalog() {
+    }
+
+    static ConfigurableApplicationContext start(int bookCount, int booksPerAuthor) {
+        return start(new SpringApplicationBuilder(AssessmentApplication.class).web(WebApplicationType.NONE),
+            bookCount, booksPerAuthor);
+    }
+
+    static ConfigurableApplicationContext startServer(int bookCount, int booksPerAuthor, Class<?> extraSource,
+                                                      String... properties) {
+        return start(new SpringApplicationBuilder(AssessmentApplication.class, extraSource)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .properties(properties),
+            bookCount, booksPerAuthor);
+    }
+
+    private static ConfigurableApplicationContext start(SpringApplicationBuilder builder, int bookCount, int booksPerAuthor) {
+        ConfigurableApplicationContext context = builder
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + bookCount + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.root=WARN",
+                "logging.level.com.capgemini.twilight.assessment=WARN"
+            )
+            .run();
+        seed(context.getBean(JdbcTemplate.class), bookCount, booksPerAuthor);
+        context.getBean(AuthorBookCountReconciler.class).reconcile();
+        // The leaderboards, title index and rollups loaded when the application became ready, before the rows were seeded.
+        context.getBean(BookLeaderboards.class).reloadAll();
+        context.getBean(TitleIndex.class).load();
+        context.getBean(BookRollups.class).rebuild();
+        return context;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int bookCount, int booksPerAuthor) {
+        SplittableRandom random = new SplittableRandom(42);
+        Instant now = Instant.now();
+        int authorCount = Math.max(1, bookCount / booksPerAuthor);
+
+        List<Object[]> authors = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= authorCount; i++) {
+            Timestamp modified = Timestamp.from(now.minusSeconds(random.nextInt(1_000_000)));
+            authors.add(new Object[]{i, "Author " + i, 0L, modified, modified});
+            if (authors.size() == BATCH_SIZE || i == authorCount) {
+                jdbcTemplate.batchUpdate("INSERT INTO author (id, name, book_count, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?)", authors);
+                authors.clear();
+            }
+        }
+
+        List<Object[]> books = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= bookCount; i++) {
+            Timestamp modified = Timestamp.from(now.minusSeconds(random.nextInt(1_000_000)));
+            books.add(new Object[]{
+                i,
+                "Book " + i,
+                50 + random.nextInt(1_500),
+                Date.valueOf(FIRST_PUBLICATION_DATE.plusDays(random.nextInt(PUBLICATION_YEARS * 365))),
+                1 + random.nextInt(authorCount),
+                modified,
+                modified
+            });
+            if (books.size() == BATCH_SIZE || i == bookCount) {
+                jdbcTemplate.batchUpdate(
+                    "INSERT INTO book (id, title, pages, publication_date, author_id, created_date, last_modified_date) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    books
+                );
+                books.clear();
+            }
+        }
+
+        // Ids are assigned here rather than by the pooled sequences, so move those past the seeded rows.
+        jdbcTemplate.execute("ALTER SEQUENCE author_seq RESTART WITH " + (authorCount + 1));
+        jdbcTemplate.execute("ALTER SEQUENCE book_seq RESTART WITH " + (bookCount + 1));
+    }
+}
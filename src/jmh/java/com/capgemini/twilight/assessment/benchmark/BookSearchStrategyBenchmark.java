@@ -0,0 +1,60 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.service.search.BookSearchParameters;
+import com.capgemini.twilight.assessment.book.service.search.BookSearchResult;
+import com.capgemini.twilight.assessment.book.service.search.BookSearchStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BookSearchStrategyBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int bookCount;
+
+    @Param({"10"})
+    private int booksPerAuthor;
+
+    @Param({"longest", "oldest", "last-modified", "by-date", "filter"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository repository;
+    private BookSearchStrategy strategy;
+    private BookSearchParameters parameters;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkCatalog.start(bookCount, booksPerAuthor);
+        repository = context.getBean(BookRepository.class);
+        strategy = context.getBeansOfType(BookSearchStrategy.class).values().stream()
+            .filter(candidate -> candidate.getQueryName().equals(query))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown book query: " + query));
+        LocalDate fromDate = BenchmarkCatalog.FIRST_PUBLICATION_DATE.plusYears(BenchmarkCatalog.PUBLICATION_YEARS / 2);
+        LocalDate toDate = fromDate.plusYears(1);
+        parameters = new BookSearchParameters(null, fromDate, toDate, 100, 300, null, null, null,
+            Sort.Direction.ASC, null, null, Set.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookSearchResult search() {
+        return strategy.search(repository, parameters);
+    }
+}
@@ -0,0 +1,99 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.capgemini.twilight.assessment.aspect.LoggingAspect;
+import com.capgemini.twilight.assessment.aspect.TracingProperties;
+import com.capgemini.twilight.assessment.benchmark.controller.CatalogController;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the logging advice around a controller method returning a page of books, with
+ * INFO logging written through a real encoder to a discarding stream. {@code none} is the unadvised
+ * call, {@code legacy} the advice before the rework, {@code traced} the current advice with sampling
+ * off (timer only) and {@code traced-sampled} the current advice at a 1% sample rate.
+ * Run with {@code -prof gc} to compare allocations as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    @Param({"none", "legacy", "traced", "traced-sampled"})
+    private String advice;
+
+    @Param({"100"})
+    private int pageSize;
+
+    private CatalogController controller;
+
+    @Setup
+    public void setUp() {
+        discardInfoLogging();
+
+        Instant now = Instant.now();
+        List<BookView> page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(new BookView(id, "Book " + id, 300, LocalDate.of(2000, 1, 1), 1L, now, now));
+        }
+        CatalogController target = new CatalogController(page);
+
+        controller = switch (advice) {
+            case "none" -> target;
+            case "legacy" -> proxy(target, new LegacyLoggingAspect());
+            case "traced" -> proxy(target, new LoggingAspect(new SimpleMeterRegistry(), new TracingProperties(0, 200)));
+            case "traced-sampled" -> proxy(target, new LoggingAspect(new SimpleMeterRegistry(), new TracingProperties(0.01, 200)));
+            default -> throw new IllegalArgumentException("Unknown advice: " + advice);
+        };
+    }
+
+    @Benchmark
+    public List<BookView> getAllBooks() {
+        return controller.getAllBooks(100, "id");
+    }
+
+    private static CatalogController proxy(CatalogController target, Object aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private static void discardInfoLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+    }
+}
@@ -0,0 +1,110 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.model.Book;
+import com.capgemini.twilight.assessment.config.JacksonConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serializing managed-entity shaped objects against the read projections returned by the
+ * REST layer. Both sides describe the same catalog: a page of authors, and the books of those authors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int authorCount;
+
+    @Param({"10"})
+    private int booksPerAuthor;
+
+    private ObjectMapper objectMapper;
+    private List<Author> authors;
+    private List<Book> books;
+    private List<AuthorSummary> authorSummaries;
+    private List<BookView> bookViews;
+
+    @Setup
+    public void setUp() {
+        objectMapper = objectMapper();
+        authors = new ArrayList<>();
+        books = new ArrayList<>();
+        authorSummaries = new ArrayList<>();
+        bookViews = new ArrayList<>();
+
+        Instant now = Instant.now();
+        long bookId = 1;
+        for (long authorId = 1; authorId <= authorCount; authorId++) {
+            Author author = new Author();
+            author.setId(authorId);
+            author.setName("Author " + authorId);
+            author.setCreatedDate(now);
+            author.setLastModifiedDate(now);
+
+            for (int i = 0; i < booksPerAuthor; i++, bookId++) {
+                Book book = new Book();
+                book.setId(bookId);
+                book.setTitle("Book " + bookId);
+                book.setPages(100 + i);
+                book.setPublicationDate(LocalDate.of(1950 + i, 1, 1));
+                book.setCreatedDate(now);
+                book.setLastModifiedDate(now);
+                author.addBook(book);
+                books.add(book);
+                bookViews.add(new BookView(bookId, book.getTitle(), book.getPages(), book.getPublicationDate(),
+                    authorId, now, now));
+            }
+
+            authors.add(author);
+            authorSummaries.add(new AuthorSummary(authorId, author.getName(), booksPerAuthor, now, now));
+        }
+    }
+
+    @Benchmark
+    public byte[] authorEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authors);
+    }
+
+    @Benchmark
+    public byte[] authorSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authorSummaries);
+    }
+
+    @Benchmark
+    public byte[] bookEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] bookViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookViews);
+    }
+
+    static ObjectMapper objectMapper() {
+        return objectMapperBuilder().build();
+    }
+
+    static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        new JacksonConfig().defaultFilterProvider().customize(builder);
+        return builder;
+    }
+}
@@ -0,0 +1,46 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Makes every connection checkout take {@code benchmark.database-latency} longer, with the pooled
+ * connection held meanwhile, to stand in for the round trip to MySQL through ProxySQL that the
+ * in-process H2 database does not have.
+ */
+@Configuration
+class SimulatedDatabaseLatency {
+
+    @Bean
+    static BeanPostProcessor simulatedDatabaseLatencyPostProcessor(Environment environment) {
+        Duration latency = environment.getProperty("benchmark.database-latency", Duration.class, Duration.ZERO);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || latency.isZero()) {
+                    return bean;
+                }
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        Connection connection = super.getConnection();
+                        try {
+                            Thread.sleep(latency.toMillis());
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return connection;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the servlet stack on platform threads against virtual threads. 256 clients hit a
+ * server on its default Tomcat settings: half of them ask for a leaderboard answered from memory,
+ * half for an author search that needs a pooled connection, each checkout delayed by
+ * {@code databaseLatencyMillis}. Throughput and sample-time percentiles (p0.99) are reported per
+ * request kind, and {@code rejected} counts the database requests the connection limiter turned away.
+ * The virtual mode needs a Java 21 build: {@code -Pbenchmarks,java21}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ThreadModelLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threadModel;
+
+    @Param({"10"})
+    private int databaseLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest inMemoryRequest;
+    private HttpRequest databaseRequest;
+
+    @Setup
+    public void setUp() {
+        boolean virtual = "virtual".equals(threadModel);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21; run with -Pbenchmarks,java21 on a JDK 21");
+        }
+        context = BenchmarkCatalog.startServer(10_000, 10, SimulatedDatabaseLatency.class,
+            "spring.threads.virtual.enabled=" + virtual,
+            "benchmark.database-latency=" + databaseLatencyMillis + "ms"
+        );
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        inMemoryRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/book/search?query=longest")).build();
+        databaseRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/author/search?query=most-books")).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long rejected;
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(128)
+    public int inMemoryRead(Outcomes outcomes) throws IOException, InterruptedException {
+        return send(inMemoryRequest, outcomes);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(128)
+    public int databaseRead(Outcomes outcomes) throws IOException, InterruptedException {
+        return send(databaseRequest, outcomes);
+    }
+
+    private int send(HttpRequest request, Outcomes outcomes) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 503) {
+            outcomes.rejected++;
+        }
+        return status;
+    }
+}
@@ -0,0 +1,82 @@
+package com.capgemini.twilight.assessment.benchmark;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.config.JacksonConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the encodings served for a page of books: JSON as before, and Smile and CBOR as configured in
+ * {@link JacksonConfig}. Encoding and decoding are measured per page; the page size in bytes of each
+ * format is logged once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(WireFormatBenchmark.class);
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"100", "1000"})
+    private int bookCount;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private List<BookView> books;
+    private byte[] page;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = switch (format) {
+            case "json" -> ProjectionSerializationBenchmark.objectMapper();
+            case "smile" -> JacksonConfig.binaryObjectMapper(ProjectionSerializationBenchmark.objectMapperBuilder(),
+                new SmileFactory());
+            case "cbor" -> JacksonConfig.binaryObjectMapper(ProjectionSerializationBenchmark.objectMapperBuilder(),
+                new CBORFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        writer = objectMapper.writer();
+        reader = objectMapper.readerFor(new TypeReference<List<BookView>>() {
+        });
+
+        Instant created = Instant.parse("2024-03-01T10:15:30.123456Z");
+        books = new ArrayList<>();
+        for (long id = 1; id <= bookCount; id++) {
+            books.add(new BookView(id, "The Collected Works, Volume " + id, 100 + (int) (id % 900),
+                LocalDate.of(1950, 1, 1).plusDays(id * 7), 1 + id / 10,
+                created.plusSeconds(id * 61), created.plusSeconds(id * 97)));
+        }
+        page = writer.writeValueAsBytes(books);
+        log.info("{} page of {} books: {} bytes", format, bookCount, page.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public List<BookView> decode() throws IOException {
+        return reader.readValue(page);
+    }
+}
@@ -0,0 +1,22 @@
+package com.capgemini.twilight.assessment.benchmark.controller;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+
+import java.util.List;
+
+/**
+ * Stand-in for a REST controller: it lives in a {@code controller} package so the logging pointcuts
+ * match it, and returns a prepared page so the benchmark measures the advice rather than the work.
+ */
+public class CatalogController {
+
+    private final List<BookView> page;
+
+    public CatalogController(List<BookView> page) {
+        this.page = page;
+    }
+
+    public List<BookView> getAllBooks(Integer size, String sort) {
+        return page;
+    }
+}
@@ -1,9 +1,16 @@
 package com.capgemini.twilight.assessment;
 
+import com.capgemini.twilight.assessment.config.ApplicationRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(ApplicationRuntimeHints.class)
 public class AssessmentApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,79 @@
+package com.capgemini.twilight.assessment.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A concurrency limit found by additive increase, multiplicative decrease. While requests complete
+ * within the latency threshold and the limit is actually used, each of them raises it by
+ * {@code 1 / limit}, i.e. by one per limit's worth of requests. A slow request, or one that failed
+ * for lack of capacity further down, multiplies it by the backoff ratio, at most once per latency
+ * threshold so that one burst of slow responses counts as one signal.
+ */
+public class AdaptiveLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoff;
+
+    public AdaptiveLimiter(AdmissionProperties.Budget budget, double backoffRatio) {
+        this.minLimit = budget.minLimit();
+        this.maxLimit = budget.maxLimit();
+        this.latencyThresholdNanos = budget.latencyThreshold().toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, budget.initialLimit()));
+        this.lastBackoff = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    /**
+     * @return false when the limit is reached; otherwise the caller must {@link #release} once done
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param elapsedNanos how long the admitted request took, or 0 where its duration says nothing about load
+     * @param overloaded   whether it failed for lack of capacity, e.g. no database connection
+     */
+    public void release(long elapsedNanos, boolean overloaded) {
+        int current = inFlight.getAndDecrement();
+        if (overloaded || elapsedNanos > latencyThresholdNanos) {
+            backOff();
+        } else if (current * 2 >= limit) {
+            grow();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void grow() {
+        limit = Math.min(maxLimit, limit + 1 / limit);
+    }
+
+    private synchronized void backOff() {
+        long now = System.nanoTime();
+        if (now - lastBackoff < latencyThresholdNanos) {
+            return;
+        }
+        lastBackoff = now;
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+}
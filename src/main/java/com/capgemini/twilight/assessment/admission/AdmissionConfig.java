@@ -0,0 +1,30 @@
+package com.capgemini.twilight.assessment.admission;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the book and author endpoints behind admission control. The change feed is left out: its
+ * requests wait for changes by design and hold no connection while they do.
+ */
+@Configuration
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionProperties properties;
+    private final AdmissionLimiters limiters;
+
+    public AdmissionConfig(AdmissionProperties properties, AdmissionLimiters limiters) {
+        this.properties = properties;
+        this.limiters = limiters;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.enabled()) {
+            return;
+        }
+        registry.addInterceptor(new AdmissionInterceptor(limiters, Math.max(1, properties.retryAfter().toSeconds())))
+            .addPathPatterns("/book", "/book/**", "/author", "/author/**");
+    }
+}
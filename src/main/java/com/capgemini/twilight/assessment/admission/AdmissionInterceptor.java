@@ -0,0 +1,56 @@
+package com.capgemini.twilight.assessment.admission;
+
+import com.capgemini.twilight.assessment.exception.AdmissionRejectedException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits a request into its class's budget before the controller runs and turns it away with
+ * {@link AdmissionRejectedException}, answered with 503 and Retry-After, when the budget is spent.
+ * Failing fast keeps the latency of the admitted requests bounded instead of queueing everyone on
+ * the connection pool's timeout. Streamed responses hold their slot until the stream completes.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".admission";
+
+    private final AdmissionLimiters limiters;
+    private final long retryAfterSeconds;
+
+    public AdmissionInterceptor(AdmissionLimiters limiters, long retryAfterSeconds) {
+        this.limiters = limiters;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC && request.getAttribute(ADMISSION_ATTRIBUTE) != null) {
+            return true;
+        }
+        RequestClass requestClass = RequestClass.of(request, handler);
+        if (!limiters.get(requestClass).tryAcquire()) {
+            limiters.rejected(requestClass);
+            throw new AdmissionRejectedException(
+                "Too many concurrent " + requestClass.tagValue() + " requests", retryAfterSeconds);
+        }
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(requestClass, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission)) {
+            return;
+        }
+        request.removeAttribute(ADMISSION_ATTRIBUTE);
+        boolean overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        long elapsed = admission.requestClass().isLatencySignal() ? System.nanoTime() - admission.startTime() : 0;
+        limiters.get(admission.requestClass()).release(elapsed, overloaded);
+    }
+
+    private record Admission(RequestClass requestClass, long startTime) {
+    }
+}
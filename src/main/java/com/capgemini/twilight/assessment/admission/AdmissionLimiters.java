@@ -0,0 +1,47 @@
+package com.capgemini.twilight.assessment.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link AdaptiveLimiter} per {@link RequestClass}, published as the {@code admission.limit} and
+ * {@code admission.in.flight} gauges and the {@code admission.rejections} counter, tagged by class.
+ */
+@Component
+public class AdmissionLimiters {
+
+    private final Map<RequestClass, AdaptiveLimiter> limiters = new EnumMap<>(RequestClass.class);
+    private final Map<RequestClass, Counter> rejections = new EnumMap<>(RequestClass.class);
+
+    public AdmissionLimiters(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdaptiveLimiter limiter = new AdaptiveLimiter(properties.budget(requestClass), properties.backoffRatio());
+            limiters.put(requestClass, limiter);
+            Gauge.builder("admission.limit", limiter, AdaptiveLimiter::limit)
+                .description("Concurrent requests currently admitted")
+                .tag("class", requestClass.tagValue())
+                .register(meterRegistry);
+            Gauge.builder("admission.in.flight", limiter, AdaptiveLimiter::inFlight)
+                .description("Admitted requests in progress")
+                .tag("class", requestClass.tagValue())
+                .register(meterRegistry);
+            rejections.put(requestClass, Counter.builder("admission.rejections")
+                .description("Requests turned away because their class was at its limit")
+                .tag("class", requestClass.tagValue())
+                .register(meterRegistry));
+        }
+    }
+
+    public AdaptiveLimiter get(RequestClass requestClass) {
+        return limiters.get(requestClass);
+    }
+
+    void rejected(RequestClass requestClass) {
+        rejections.get(requestClass).increment();
+    }
+}
@@ -0,0 +1,46 @@
+package com.capgemini.twilight.assessment.admission;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param backoffRatio what a limit is multiplied by when its requests get slow or fail for lack of capacity
+ * @param retryAfter   sent with rejected requests
+ */
+@ConfigurationProperties(prefix = "admission")
+public record AdmissionProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0.9") double backoffRatio,
+    @DefaultValue("1s") Duration retryAfter,
+    @DefaultValue Budget read,
+    @DefaultValue Budget search,
+    @DefaultValue Budget write,
+    @DefaultValue Budget bulk
+) {
+
+    /**
+     * @param initialLimit      concurrent requests admitted before anything has been measured
+     * @param minLimit          the limit never backs off below this
+     * @param maxLimit          the limit never grows beyond this
+     * @param latencyThreshold  a request slower than this counts as a sign of overload; unused by the bulk budget,
+     *                          which only backs off on failures for lack of capacity
+     */
+    public record Budget(
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("2") int minLimit,
+        @DefaultValue("100") int maxLimit,
+        @DefaultValue("1s") Duration latencyThreshold
+    ) {
+    }
+
+    public Budget budget(RequestClass requestClass) {
+        return switch (requestClass) {
+            case READ -> read;
+            case SEARCH -> search;
+            case WRITE -> write;
+            case BULK -> bulk;
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package com.capgemini.twilight.assessment.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * The budgets requests are admitted from. Searches get their own, so that a burst of expensive
+ * queries cannot crowd out lookups by id, and neither can starve writes. Streamed listings and batch
+ * writes run for as long as their data takes, so they get a budget of their own too, and only
+ * failures for lack of capacity, never their duration, back it off.
+ */
+public enum RequestClass {
+    READ(true),
+    SEARCH(true),
+    WRITE(true),
+    BULK(false);
+
+    private final boolean latencySignal;
+
+    RequestClass(boolean latencySignal) {
+        this.latencySignal = latencySignal;
+    }
+
+    public static RequestClass of(HttpServletRequest request, Object handler) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if ((pattern != null && pattern.toString().endsWith("/batch")) || streams(handler)) {
+            return BULK;
+        }
+        String method = request.getMethod();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            return WRITE;
+        }
+        return pattern != null && pattern.toString().endsWith("/search") ? SEARCH : READ;
+    }
+
+    /**
+     * @return whether a request of this class taking longer than its budget's latency threshold is a
+     * sign of overload
+     */
+    public boolean isLatencySignal() {
+        return latencySignal;
+    }
+
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+
+    private static boolean streams(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return false;
+        }
+        ResolvableType body = ResolvableType.forMethodParameter(method.getReturnType());
+        if (ResponseEntity.class.isAssignableFrom(body.toClass())) {
+            body = body.getGeneric(0);
+        }
+        return StreamingResponseBody.class.isAssignableFrom(body.toClass());
+    }
+}
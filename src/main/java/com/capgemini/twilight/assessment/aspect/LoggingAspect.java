@@ -1,20 +1,48 @@
 package com.capgemini.twilight.assessment.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Times every advised method into a {@code method.execution} timer and logs the entry and exit of a
+ * sample of the calls. Calls that are not sampled only read the clock twice and record the timer;
+ * arguments and results are rendered for sampled calls alone, and never beyond
+ * {@code tracing.max-rendered-length} characters each. Exceptions are always logged.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
+    static final String TIMER_NAME = "method.execution";
+
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
+    private final MeterRegistry meterRegistry;
+    private final double sampleRate;
+    private final int maxRenderedLength;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public LoggingAspect(MeterRegistry meterRegistry, TracingProperties tracingProperties) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = tracingProperties.sampleRate();
+        this.maxRenderedLength = tracingProperties.maxRenderedLength();
+    }
+
     @Pointcut("within(com.capgemini.twilight.assessment..*controller..*)")
     public void controllerPointcut() {
     }
@@ -39,34 +67,82 @@ public class LoggingAspect {
 
     @Around("controllerPointcut() || servicePointcut() || exceptionHandlerPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        if (log.isInfoEnabled()) {
+        boolean sampled = isSampled();
+        if (sampled) {
             log.info("==> Enter: {}.{}() with argument[s] = {}",
                 joinPoint.getSignature().getDeclaringTypeName(),
                 joinPoint.getSignature().getName(),
-                Arrays.toString(joinPoint.getArgs())
+                renderArguments(joinPoint.getArgs())
             );
         }
 
+        Timer timer = timerFor(((MethodSignature) joinPoint.getSignature()).getMethod());
+        long startTime = System.nanoTime();
         try {
-            long startTime = System.currentTimeMillis();
             Object result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            if (log.isInfoEnabled()) {
+            if (sampled) {
                 log.info("<== Exit: {}.{}() with result = {}. Execution time = {} ms",
                     joinPoint.getSignature().getDeclaringTypeName(),
                     joinPoint.getSignature().getName(),
-                    result,
-                    endTime - startTime
+                    render(result),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
                 );
             }
             return result;
-        } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}.{}()",
-                Arrays.toString(joinPoint.getArgs()),
-                joinPoint.getSignature().getDeclaringTypeName(),
-                joinPoint.getSignature().getName()
-            );
-            throw e;
+        } finally {
+            timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean isSampled() {
+        if (sampleRate <= 0 || !log.isInfoEnabled()) {
+            return false;
+        }
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private Timer timerFor(Method method) {
+        Timer timer = timers.get(method);
+        return timer != null ? timer : timers.computeIfAbsent(method, this::registerTimer);
+    }
+
+    private Timer registerTimer(Method method) {
+        return Timer.builder(TIMER_NAME)
+            .description("Execution time of controller, service and exception handler methods")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private String renderArguments(Object[] args) {
+        StringBuilder rendered = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                rendered.append(", ");
+            }
+            rendered.append(render(args[i]));
+        }
+        return rendered.append(']').toString();
+    }
+
+    /**
+     * Collections and maps are summarized by their size rather than listed, and any other value is
+     * cut at {@code maxRenderedLength} characters.
+     */
+    private String render(Object value) {
+        if (value instanceof ResponseEntity<?> response) {
+            return "ResponseEntity[status=" + response.getStatusCode().value() + ", body=" + render(response.getBody()) + "]";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[size=" + collection.size() + "]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "[size=" + map.size() + "]";
         }
+        String rendered = String.valueOf(value);
+        return rendered.length() <= maxRenderedLength
+            ? rendered
+            : rendered.substring(0, maxRenderedLength) + "...(" + rendered.length() + " chars)";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.capgemini.twilight.assessment.aspect;
+
+import com.capgemini.twilight.assessment.author.service.search.AuthorSearchStrategy;
+import com.capgemini.twilight.assessment.book.service.search.BookSearchResult;
+import com.capgemini.twilight.assessment.book.service.search.BookSearchStrategy;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every book and author search into a {@code search.duration} timer and a
+ * {@code search.results} distribution of the number of results, both tagged with the entity and the
+ * strategy's query name, so that one slow or oversized query type stands out from the others.
+ */
+@Aspect
+@Component
+public class SearchMetricsAspect {
+
+    static final String TIMER_NAME = "search.duration";
+    static final String RESULTS_NAME = "search.results";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Object, SearchMeters> meters = new ConcurrentHashMap<>();
+
+    public SearchMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Pointcut("execution(* com.capgemini.twilight.assessment.book.service.search.BookSearchStrategy+.search(..))")
+    public void bookSearchPointcut() {
+    }
+
+    @Pointcut("execution(* com.capgemini.twilight.assessment.author.service.search.AuthorSearchStrategy+.search(..))")
+    public void authorSearchPointcut() {
+    }
+
+    @Around("bookSearchPointcut() || authorSearchPointcut()")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        SearchMeters searchMeters = metersFor(joinPoint.getTarget());
+        long startTime = System.nanoTime();
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            searchMeters.results().record(sizeOf(result));
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            searchMeters.timer(exception).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private SearchMeters metersFor(Object strategy) {
+        SearchMeters searchMeters = meters.get(strategy);
+        return searchMeters != null ? searchMeters : meters.computeIfAbsent(strategy, this::registerMeters);
+    }
+
+    private SearchMeters registerMeters(Object strategy) {
+        String entity;
+        String query;
+        if (strategy instanceof BookSearchStrategy bookSearch) {
+            entity = "book";
+            query = bookSearch.getQueryName();
+        } else {
+            entity = "author";
+            query = ((AuthorSearchStrategy) strategy).getQueryName();
+        }
+        DistributionSummary results = DistributionSummary.builder(RESULTS_NAME)
+            .description("Number of results returned by a search")
+            .tag("entity", entity)
+            .tag("query", query)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        return new SearchMeters(meterRegistry, entity, query, results);
+    }
+
+    private static int sizeOf(Object result) {
+        if (result instanceof BookSearchResult bookResult) {
+            return bookResult.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * The timer of a successful search is kept; the rarer failures look theirs up by exception.
+     */
+    private record SearchMeters(MeterRegistry registry, String entity, String query, DistributionSummary results,
+                                Timer success) {
+
+        SearchMeters(MeterRegistry registry, String entity, String query, DistributionSummary results) {
+            this(registry, entity, query, results, timer(registry, entity, query, "none"));
+        }
+
+        Timer timer(String exception) {
+            return exception.equals("none") ? success : timer(registry, entity, query, exception);
+        }
+
+        private static Timer timer(MeterRegistry registry, String entity, String query, String exception) {
+            return Timer.builder(TIMER_NAME)
+                .description("Execution time of book and author searches by query type")
+                .tag("entity", entity)
+                .tag("query", query)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.capgemini.twilight.assessment.aspect;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param sampleRate         fraction of calls, between 0 and 1, whose entry and exit are logged
+ * @param maxRenderedLength  longest rendering of a single argument or result in those log lines
+ */
+@ConfigurationProperties(prefix = "tracing")
+public record TracingProperties(
+    @DefaultValue("1.0") double sampleRate,
+    @DefaultValue("200") int maxRenderedLength
+) {
+}
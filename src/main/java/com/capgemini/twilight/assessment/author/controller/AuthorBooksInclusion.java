@@ -0,0 +1,38 @@
+package com.capgemini.twilight.assessment.author.controller;
+
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code include} request parameter of the author endpoints. Books are only serialized, and
+ * therefore only loaded, when the caller asks for them with {@code include=books}.
+ */
+final class AuthorBooksInclusion {
+
+    static final String PARAMETER = "include";
+    static final String BOOKS = "books";
+
+    static final FilterProvider WITHOUT_BOOKS = new SimpleFilterProvider()
+        .addFilter(Author.JSON_FILTER, SimpleBeanPropertyFilter.serializeAllExcept(BOOKS));
+
+    static final FilterProvider WITH_BOOKS = new SimpleFilterProvider()
+        .addFilter(Author.JSON_FILTER, SimpleBeanPropertyFilter.serializeAll());
+
+    private AuthorBooksInclusion() {
+    }
+
+    static boolean includesBooks(List<String> include) {
+        return include != null && include.stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .anyMatch(value -> BOOKS.equals(value.trim()));
+    }
+
+    static FilterProvider filterFor(List<String> include) {
+        return includesBooks(include) ? WITH_BOOKS : WITHOUT_BOOKS;
+    }
+}
@@ -1,11 +1,26 @@
 package com.capgemini.twilight.assessment.author.controller;
 
 import com.capgemini.twilight.assessment.author.dto.AuthorRequest;
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.author.dto.AuthorVersion;
+import com.capgemini.twilight.assessment.author.dto.AuthorView;
+import com.capgemini.twilight.assessment.author.dto.AuthorWithBooks;
+import com.capgemini.twilight.assessment.author.event.AuthorChangedEvent;
 import com.capgemini.twilight.assessment.author.model.Author;
 import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
 import com.capgemini.twilight.assessment.author.service.search.AuthorSearchStrategy;
+import com.capgemini.twilight.assessment.batch.BatchItemResult;
+import com.capgemini.twilight.assessment.batch.BatchRequestReader;
+import com.capgemini.twilight.assessment.conditional.IfMatch;
+import com.capgemini.twilight.assessment.conditional.OptimisticUpdates;
+import com.capgemini.twilight.assessment.conditional.ResourceVersion;
 import com.capgemini.twilight.assessment.exception.InvalidRequestException;
 import com.capgemini.twilight.assessment.exception.ResourceNotFoundException;
+import com.capgemini.twilight.assessment.pagination.KeysetCursor;
+import com.capgemini.twilight.assessment.pagination.KeysetPage;
+import com.capgemini.twilight.assessment.pagination.KeysetSort;
+import com.capgemini.twilight.assessment.pagination.ResponseStreamWriter;
+import com.capgemini.twilight.assessment.pagination.PaginationProperties;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,10 +28,19 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.PostConstruct;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -32,11 +56,24 @@ public class AuthorController {
 
     private final AuthorRepository authorRepository;
     private final List<AuthorSearchStrategy> strategyList;
+    private final PaginationProperties paginationProperties;
+    private final ResponseStreamWriter responseStreamWriter;
+    private final BatchRequestReader batchRequestReader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticUpdates optimisticUpdates;
     private Map<String, AuthorSearchStrategy> searchStrategies;
 
-    public AuthorController(AuthorRepository authorRepository, List<AuthorSearchStrategy> strategies) {
+    public AuthorController(AuthorRepository authorRepository, List<AuthorSearchStrategy> strategies,
+                            PaginationProperties paginationProperties, ResponseStreamWriter responseStreamWriter,
+                            BatchRequestReader batchRequestReader, ApplicationEventPublisher eventPublisher,
+                            OptimisticUpdates optimisticUpdates) {
         this.authorRepository = authorRepository;
         this.strategyList = strategies;
+        this.paginationProperties = paginationProperties;
+        this.responseStreamWriter = responseStreamWriter;
+        this.batchRequestReader = batchRequestReader;
+        this.eventPublisher = eventPublisher;
+        this.optimisticUpdates = optimisticUpdates;
     }
 
     @PostConstruct
@@ -54,29 +91,149 @@ public class AuthorController {
         )
     )
     @PostMapping
+    @Transactional
     public ResponseEntity<Author> createAuthor(@RequestBody AuthorRequest request) {
         Author author = new Author();
         author.setName(request.getName());
         Author savedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(AuthorChangedEvent.created(savedAuthor.getId(), savedAuthor.getName()));
         return ResponseEntity.status(HttpStatus.CREATED).body(savedAuthor);
     }
 
+    @Operation(
+        summary = "Create authors in bulk",
+        description = "Accepts a JSON array or newline-delimited JSON and returns one result per item, in request order."
+    )
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional
+    public List<BatchItemResult> createAuthors(@RequestBody List<AuthorRequest> requests) {
+        return createAll(batchRequestReader.read(requests));
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional
+    public List<BatchItemResult> createAuthorsFromNdjson(InputStream body) {
+        return createAll(batchRequestReader.readNdjson(body, AuthorRequest.class));
+    }
+
+    private List<BatchItemResult> createAll(List<AuthorRequest> requests) {
+        List<Author> authors = requests.stream()
+            .map(request -> {
+                Author author = new Author();
+                author.setName(request.getName());
+                return author;
+            })
+            .toList();
+        List<Author> savedAuthors = authorRepository.saveAllAndFlush(authors);
+
+        List<BatchItemResult> results = new ArrayList<>(savedAuthors.size());
+        for (int i = 0; i < savedAuthors.size(); i++) {
+            Author savedAuthor = savedAuthors.get(i);
+            results.add(BatchItemResult.created(i, savedAuthor.getId()));
+            eventPublisher.publishEvent(AuthorChangedEvent.created(savedAuthor.getId(), savedAuthor.getName()));
+        }
+        return results;
+    }
+
     @Operation(summary = "Get an author by ID")
     @ApiResponse(
         responseCode = "200",
         description = "Author found",
-        content = @Content(mediaType = "application/json", schema = @Schema(implementation = Author.class))
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthorView.class))
     )
     @GetMapping("/{id}")
-    public Author getAuthorById(@Parameter(description = "ID of the author to retrieve", required = true) @PathVariable Long id) {
-        return authorRepository.findById(id)
+    public ResponseEntity<AuthorView> getAuthorById(
+        @Parameter(description = "ID of the author to retrieve", required = true) @PathVariable Long id,
+        @Parameter(description = "Related data to embed. Supported values: 'books'.", example = "books")
+        @RequestParam(name = AuthorBooksInclusion.PARAMETER, required = false) List<String> include,
+        WebRequest request
+    ) {
+        if (!AuthorBooksInclusion.includesBooks(include)) {
+            // usually a second-level cache hit, which is cheaper than any version query
+            Author author = authorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
+            return versionOf(author).respond(request, () -> ResponseEntity.ok(AuthorSummary.from(author)));
+        }
+
+        AuthorVersion version = authorRepository.findVersionById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
+        return ResourceVersion.of(id, version.version(), version.bookCount(), version.booksLastModifiedDate())
+            .respond(request, () -> ResponseEntity.ok(authorRepository.findWithBooksById(id)
+                .map(AuthorWithBooks::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id))));
     }
 
-    @Operation(summary = "Get all authors")
+    @Operation(
+        summary = "Get all authors",
+        description = "Returns one keyset page. When more authors exist, the response carries an "
+            + "'" + KeysetPage.NEXT_CURSOR_HEADER + "' header to pass back as 'cursor'. The ETag changes with "
+            + "any author or book, so If-None-Match answers 304 until something changed."
+    )
     @GetMapping
-    public List<Author> getAllAuthors() {
-        return authorRepository.findAll();
+    public ResponseEntity<List<AuthorView>> getAllAuthors(
+        @Parameter(description = "Maximum number of authors in the page.")
+        @RequestParam(required = false) Integer size,
+        @Parameter(description = "Keyset order. Supported values: 'id', 'last-modified'.", example = "id")
+        @RequestParam(defaultValue = "id") String sort,
+        @Parameter(description = "Continuation token from the previous page's " + KeysetPage.NEXT_CURSOR_HEADER + " header.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Related data to embed. Supported values: 'books'.", example = "books")
+        @RequestParam(name = AuthorBooksInclusion.PARAMETER, required = false) List<String> include,
+        WebRequest request
+    ) {
+        return ResourceVersion.of(authorRepository.findCollectionVersion())
+            .respond(request, () -> findAuthorPage(size, sort, cursor, include));
+    }
+
+    private ResponseEntity<List<AuthorView>> findAuthorPage(Integer size, String sort, String cursor, List<String> include) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        KeysetSort keysetSort = KeysetSort.fromQueryName(sort);
+
+        if (AuthorBooksInclusion.includesBooks(include)) {
+            List<Author> fetched = switch (keysetSort) {
+                case ID -> authorRepository.findByIdGreaterThanOrderByIdAsc(after.id(), limit);
+                case LAST_MODIFIED -> authorRepository.findPageAfterLastModified(after.lastModifiedDate(), after.id(), limit);
+            };
+            return KeysetPage.of(fetched, pageSize, author -> new KeysetCursor(author.getLastModifiedDate(), author.getId()))
+                .<AuthorView>map(AuthorWithBooks::from)
+                .toResponseEntity();
+        }
+
+        List<AuthorSummary> fetched = switch (keysetSort) {
+            case ID -> authorRepository.findSummaryPageAfterId(after.id(), limit);
+            case LAST_MODIFIED -> authorRepository.findSummaryPageAfterLastModified(after.lastModifiedDate(), after.id(), limit);
+        };
+        return KeysetPage.of(fetched, pageSize, author -> new KeysetCursor(author.lastModifiedDate(), author.id()))
+            .<AuthorView>map(author -> author)
+            .toResponseEntity();
+    }
+
+    @Operation(summary = "Stream all authors as newline-delimited JSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAuthors(
+        @Parameter(description = "Related data to embed. Supported values: 'books'.", example = "books")
+        @RequestParam(name = AuthorBooksInclusion.PARAMETER, required = false) List<String> include
+    ) {
+        return streamAuthors(MediaType.APPLICATION_NDJSON, include);
+    }
+
+    @Operation(summary = "Stream all authors as a CBOR sequence")
+    @GetMapping(produces = ResponseStreamWriter.APPLICATION_CBOR_SEQ_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAuthorsAsCbor(
+        @Parameter(description = "Related data to embed. Supported values: 'books'.", example = "books")
+        @RequestParam(name = AuthorBooksInclusion.PARAMETER, required = false) List<String> include
+    ) {
+        return streamAuthors(ResponseStreamWriter.APPLICATION_CBOR_SEQ, include);
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamAuthors(MediaType format, List<String> include) {
+        if (AuthorBooksInclusion.includesBooks(include)) {
+            return responseStreamWriter.stream(format, authorRepository::streamAllOrderById, AuthorBooksInclusion.WITH_BOOKS);
+        }
+        return responseStreamWriter.stream(format, authorRepository::streamAllSummaries);
     }
 
     @Operation(summary = "Update an existing author")
@@ -88,26 +245,51 @@ public class AuthorController {
         )
     )
     @PutMapping("/{id}")
-    public Author updateAuthor(
+    public ResponseEntity<Author> updateAuthor(
         @Parameter(description = "ID of the author to update", required = true) @PathVariable Long id,
-        @RequestBody AuthorRequest request
+        @RequestBody AuthorRequest request,
+        @Parameter(description = "ETag of the author as last read; the update is refused with 412 if it changed since. "
+            + "Without it, an update that collides with a concurrent one is retried.")
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatchHeader,
+        WebRequest webRequest
     ) {
-        Author existingAuthor = authorRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
+        IfMatch ifMatch = IfMatch.parse(ifMatchHeader, id);
+        Author savedAuthor = optimisticUpdates.execute(ifMatch, () -> {
+            Author existingAuthor = authorRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
+            if (ifMatch != null) {
+                ifMatch.check(existingAuthor.getVersion());
+            }
+
+            String previousName = existingAuthor.getName();
+            existingAuthor.setName(request.getName());
+            Author saved = authorRepository.saveAndFlush(existingAuthor);
+            eventPublisher.publishEvent(AuthorChangedEvent.renamed(saved.getId(), previousName, saved.getName()));
+            return saved;
+        });
+        return versionOf(savedAuthor).ok(webRequest, savedAuthor);
+    }
 
-        existingAuthor.setName(request.getName());
-        return authorRepository.save(existingAuthor);
+    private static ResourceVersion versionOf(Author author) {
+        return ResourceVersion.of(author.getId(), author.getVersion(), author.getBookCount());
     }
 
     @Operation(summary = "Search for an author")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Author found",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = AuthorView.class))
+    )
     @GetMapping("/search")
-    public Author searchAuthors(
+    public ResponseEntity<AuthorView> searchAuthors(
         @Parameter(
             description = "The search query type. Supported values: 'most-books', 'last-modified'.",
             required = true,
             example = "most-books"
         )
-        @RequestParam String query
+        @RequestParam String query,
+        @Parameter(description = "Related data to embed. Supported values: 'books'.", example = "books")
+        @RequestParam(name = AuthorBooksInclusion.PARAMETER, required = false) List<String> include
     ) {
         AuthorSearchStrategy strategy = searchStrategies.get(query);
 
@@ -115,7 +297,14 @@ public class AuthorController {
             throw new InvalidRequestException("Invalid query parameter: " + query);
         }
 
-        return strategy.search(authorRepository)
+        AuthorSummary summary = strategy.search(authorRepository)
             .orElseThrow(() -> new ResourceNotFoundException("Author not found for query: " + query));
+
+        if (AuthorBooksInclusion.includesBooks(include)) {
+            return ResponseEntity.ok(authorRepository.findWithBooksById(summary.id())
+                .map(AuthorWithBooks::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Author not found for query: " + query)));
+        }
+        return ResponseEntity.ok(summary);
     }
 }
@@ -0,0 +1,26 @@
+package com.capgemini.twilight.assessment.author.dto;
+
+import com.capgemini.twilight.assessment.author.model.Author;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Read-only representation of an author with the number of books instead of the books themselves")
+public record AuthorSummary(
+    Long id,
+    String name,
+    long bookCount,
+    Instant createdDate,
+    Instant lastModifiedDate
+) implements AuthorView {
+
+    public static AuthorSummary from(Author author) {
+        return new AuthorSummary(
+            author.getId(),
+            author.getName(),
+            author.getBookCount(),
+            author.getCreatedDate(),
+            author.getLastModifiedDate()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.capgemini.twilight.assessment.author.dto;
+
+import java.time.Instant;
+
+/**
+ * What an author's representations depend on. The book count moves without touching the author's
+ * version, and its books only touch their own.
+ *
+ * @param booksLastModifiedDate latest modification of the author's books, null without books
+ */
+public record AuthorVersion(
+    long version,
+    long bookCount,
+    Instant booksLastModifiedDate
+) {
+}
@@ -0,0 +1,23 @@
+package com.capgemini.twilight.assessment.author.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * What the author read endpoints answer with: the summary, or with {@code include=books} the author
+ * with its books.
+ */
+@Schema(oneOf = {AuthorSummary.class, AuthorWithBooks.class})
+public sealed interface AuthorView permits AuthorSummary, AuthorWithBooks {
+
+    Long id();
+
+    String name();
+
+    long bookCount();
+
+    Instant createdDate();
+
+    Instant lastModifiedDate();
+}
@@ -0,0 +1,64 @@
+package com.capgemini.twilight.assessment.author.dto;
+
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.book.model.Book;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Same properties as the {@link Author} entity serializes to with its books, so {@code include=books}
+ * reads the same whether it is answered from here or streamed from the entities.
+ */
+@Schema(description = "Read-only representation of an author with its books")
+public record AuthorWithBooks(
+    Long id,
+    String name,
+    List<AuthorBook> books,
+    long bookCount,
+    Instant createdDate,
+    Instant lastModifiedDate,
+    long version
+) implements AuthorView {
+
+    /**
+     * Reads {@code author.getBooks()}, so the books should be fetched with the author.
+     */
+    public static AuthorWithBooks from(Author author) {
+        return new AuthorWithBooks(
+            author.getId(),
+            author.getName(),
+            author.getBooks().stream().map(AuthorBook::from).toList(),
+            author.getBookCount(),
+            author.getCreatedDate(),
+            author.getLastModifiedDate(),
+            author.getVersion()
+        );
+    }
+
+    @Schema(description = "A book of the author, without the author it is listed under")
+    public record AuthorBook(
+        Long id,
+        String title,
+        Integer pages,
+        LocalDate publicationDate,
+        Instant createdDate,
+        Instant lastModifiedDate,
+        long version
+    ) {
+
+        public static AuthorBook from(Book book) {
+            return new AuthorBook(
+                book.getId(),
+                book.getTitle(),
+                book.getPages(),
+                book.getPublicationDate(),
+                book.getCreatedDate(),
+                book.getLastModifiedDate(),
+                book.getVersion()
+            );
+        }
+    }
+}
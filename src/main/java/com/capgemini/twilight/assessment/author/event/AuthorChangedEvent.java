@@ -0,0 +1,16 @@
+package com.capgemini.twilight.assessment.author.event;
+
+/**
+ * Published from the author write paths once the author has an id. {@code previousName} is
+ * {@code null} for a created author.
+ */
+public record AuthorChangedEvent(Long authorId, String previousName, String currentName) {
+
+    public static AuthorChangedEvent created(Long authorId, String name) {
+        return new AuthorChangedEvent(authorId, null, name);
+    }
+
+    public static AuthorChangedEvent renamed(Long authorId, String previousName, String currentName) {
+        return new AuthorChangedEvent(authorId, previousName, currentName);
+    }
+}
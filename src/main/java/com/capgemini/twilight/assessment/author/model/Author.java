@@ -1,11 +1,17 @@
 package com.capgemini.twilight.assessment.author.model;
 
 import com.capgemini.twilight.assessment.book.model.Book;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OptimisticLock;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
@@ -19,30 +25,62 @@ import java.util.List;
     @Index(
         name = "idx_author_last_modified_date",
         columnList = "lastModifiedDate"
+    ),
+    @Index(
+        name = "idx_author_book_count",
+        columnList = "bookCount"
     )
 })
+@JsonFilter(Author.JSON_FILTER)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author")
 public class Author {
 
+    public static final String JSON_FILTER = "authorFilter";
+
+    /**
+     * Pooled sequence for the same reason as {@code Book.id}; emulated with the {@code author_seq}
+     * table on MySQL.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_seq")
+    @SequenceGenerator(name = "author_seq", sequenceName = "author_seq", allocationSize = 50)
     private Long id;
 
     private String name;
 
     @OneToMany(
         mappedBy = "author",
-        cascade = CascadeType.ALL,
-        orphanRemoval = true
+        cascade = CascadeType.ALL
     )
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "author-books")
     @JsonManagedReference
+    @OptimisticLock(excluded = true)
     private List<Book> books = new ArrayList<>();
 
+    /**
+     * Denormalized size of {@link #books}. Never written through dirty checking: it is maintained by
+     * {@code AuthorRepository.adjustBookCount} in the same transaction as the book change, and rebuilt
+     * by {@code AuthorBookCountReconciler}.
+     */
+    @Column(nullable = false, updatable = false)
+    private long bookCount;
+
     @CreationTimestamp
     private Instant createdDate;
 
     @UpdateTimestamp
     private Instant lastModifiedDate;
 
+    /**
+     * Optimistic lock, like {@code Book.version}. Adding or moving books does not count as a change of
+     * the author: they would otherwise contend on the author row.
+     */
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     public void addBook(Book book) {
         books.add(book);
         book.setAuthor(this);
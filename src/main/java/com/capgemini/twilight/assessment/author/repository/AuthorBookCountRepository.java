@@ -0,0 +1,6 @@
+package com.capgemini.twilight.assessment.author.repository;
+
+public interface AuthorBookCountRepository {
+
+    int adjustBookCount(Long id, long delta);
+}
@@ -0,0 +1,55 @@
+package com.capgemini.twilight.assessment.author.repository;
+
+import com.capgemini.twilight.assessment.author.model.Author;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+
+/**
+ * Moves an author's book count with a plain JDBC update on the session's connection. A JPQL update,
+ * or a native one synchronized on the author table, makes Hibernate evict the whole author region
+ * of the second-level cache, which every book write would then empty. This evicts only the author
+ * it changed, and invalidates the cached queries on the author table the way Hibernate does for any
+ * write to it: before the update and again once the transaction completes.
+ */
+@Transactional
+class AuthorBookCountRepositoryImpl implements AuthorBookCountRepository {
+
+    private static final String[] AUTHOR_SPACES = {"author"};
+
+    private final EntityManager entityManager;
+
+    AuthorBookCountRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int adjustBookCount(Long id, long delta) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        CacheImplementor cache = session.getFactory().getCache();
+        TimestampsCache timestamps = cache.getTimestampsCache();
+
+        // the author may still be waiting to be inserted
+        session.flush();
+        timestamps.preInvalidate(AUTHOR_SPACES, session);
+        int updated = session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE author SET book_count = book_count + ? WHERE id = ?")) {
+                statement.setLong(1, delta);
+                statement.setLong(2, id);
+                return statement.executeUpdate();
+            }
+        });
+        cache.evictEntityData(Author.class, id);
+        // a reader may have cached the old row meanwhile
+        session.getActionQueue().registerProcess((success, completedSession) -> {
+            cache.evictEntityData(Author.class, id);
+            timestamps.invalidate(AUTHOR_SPACES, completedSession);
+        });
+        return updated;
+    }
+}
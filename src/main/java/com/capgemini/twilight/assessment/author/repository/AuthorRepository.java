@@ -1,18 +1,124 @@
 package com.capgemini.twilight.assessment.author.repository;
 
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.author.dto.AuthorVersion;
 import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.conditional.CollectionVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+@Transactional(readOnly = true)
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorStreamRepository, AuthorBookCountRepository {
 
-    @Query(value = "SELECT a.* FROM author a LEFT JOIN book b ON a.id = b.author_id GROUP BY a.id ORDER BY COUNT(b.id) DESC LIMIT 1", nativeQuery = true)
-    Optional<Author> findAuthorWithMostBooks();
+    int STREAM_PAGE_SIZE = 500;
 
-    Optional<Author> findTopByOrderByLastModifiedDateDesc();
+    String SELECT_SUMMARY = """
+        SELECT new com.capgemini.twilight.assessment.author.dto.AuthorSummary(
+            a.id, a.name, a.bookCount, a.createdDate, a.lastModifiedDate
+        )
+        FROM Author a
+        """;
 
-}
\ No newline at end of file
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + "ORDER BY a.bookCount DESC, a.id DESC LIMIT 1")
+    Optional<AuthorSummary> findAuthorWithMostBooks();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_SUMMARY + "ORDER BY a.lastModifiedDate DESC, a.id DESC LIMIT 1")
+    Optional<AuthorSummary> findLastModifiedSummary();
+
+    @Query(SELECT_SUMMARY + "WHERE a.id > :id ORDER BY a.id ASC")
+    List<AuthorSummary> findSummaryPageAfterId(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_SUMMARY + """
+        WHERE a.lastModifiedDate > :lastModifiedDate
+           OR (a.lastModifiedDate = :lastModifiedDate AND a.id > :id)
+        ORDER BY a.lastModifiedDate ASC, a.id ASC
+        """)
+    List<AuthorSummary> findSummaryPageAfterLastModified(
+        @Param("lastModifiedDate") Instant lastModifiedDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    @Query("""
+        SELECT new com.capgemini.twilight.assessment.author.dto.AuthorVersion(
+            a.version, a.bookCount, (SELECT MAX(b.lastModifiedDate) FROM Book b WHERE b.author = a)
+        )
+        FROM Author a
+        WHERE a.id = :id
+        """)
+    Optional<AuthorVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Authors together with books: a book count moves without touching its author, and listed authors
+     * may embed their books.
+     */
+    @Query("""
+        SELECT new com.capgemini.twilight.assessment.conditional.CollectionVersion(
+            COUNT(a) + (SELECT COUNT(b) FROM Book b),
+            MAX(a.lastModifiedDate),
+            (SELECT MAX(b.lastModifiedDate) FROM Book b)
+        )
+        FROM Author a
+        """)
+    CollectionVersion findCollectionVersion();
+
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE Author a SET a.bookCount = (SELECT COUNT(b) FROM Book b WHERE b.author = a)
+        WHERE a.id BETWEEN :fromId AND :toId
+        """)
+    int reconcileBookCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT COALESCE(MAX(a.id), 0) FROM Author a")
+    long findMaxId();
+
+    @EntityGraph(attributePaths = "books")
+    Optional<Author> findWithBooksById(Long id);
+
+    List<Author> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("""
+        SELECT a FROM Author a
+        WHERE a.lastModifiedDate > :lastModifiedDate
+           OR (a.lastModifiedDate = :lastModifiedDate AND a.id > :id)
+        ORDER BY a.lastModifiedDate ASC, a.id ASC
+        """)
+    List<Author> findPageAfterLastModified(
+        @Param("lastModifiedDate") Instant lastModifiedDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+
+    /**
+     * Every author in id order, read in keyset pages of {@link #STREAM_PAGE_SIZE} rather than off one
+     * open result set, so that their books can be loaded while the authors are being read.
+     */
+    default Stream<Author> streamAllOrderById() {
+        Limit page = Limit.of(STREAM_PAGE_SIZE);
+        return Stream.iterate(
+                findByIdGreaterThanOrderByIdAsc(0L, page),
+                authors -> !authors.isEmpty(),
+                authors -> authors.size() < STREAM_PAGE_SIZE
+                    ? List.of()
+                    : findByIdGreaterThanOrderByIdAsc(authors.get(authors.size() - 1).getId(), page))
+            .flatMap(List::stream);
+    }
+}
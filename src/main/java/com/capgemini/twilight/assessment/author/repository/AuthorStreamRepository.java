@@ -0,0 +1,15 @@
+package com.capgemini.twilight.assessment.author.repository;
+
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface AuthorStreamRepository {
+
+    Stream<AuthorSummary> streamAllSummaries();
+
+    Stream<AuthorSummary> streamSummariesModifiedSince(Instant since);
+
+    Stream<Long> streamAllIds();
+}
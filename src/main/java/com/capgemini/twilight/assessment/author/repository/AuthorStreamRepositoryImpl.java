@@ -0,0 +1,43 @@
+package com.capgemini.twilight.assessment.author.repository;
+
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.pagination.StreamingQueries;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * The author summary streams, run through {@link StreamingQueries} for a fetch size that suits the
+ * driver.
+ */
+@Transactional(readOnly = true)
+class AuthorStreamRepositoryImpl implements AuthorStreamRepository {
+
+    private final EntityManager entityManager;
+    private final StreamingQueries streamingQueries;
+
+    AuthorStreamRepositoryImpl(EntityManager entityManager, StreamingQueries streamingQueries) {
+        this.entityManager = entityManager;
+        this.streamingQueries = streamingQueries;
+    }
+
+    @Override
+    public Stream<AuthorSummary> streamAllSummaries() {
+        return streamingQueries.stream(entityManager.createQuery(
+            AuthorRepository.SELECT_SUMMARY + "ORDER BY a.id ASC", AuthorSummary.class));
+    }
+
+    @Override
+    public Stream<AuthorSummary> streamSummariesModifiedSince(Instant since) {
+        return streamingQueries.stream(entityManager.createQuery(
+                AuthorRepository.SELECT_SUMMARY + "WHERE a.lastModifiedDate >= :since ORDER BY a.id ASC", AuthorSummary.class)
+            .setParameter("since", since));
+    }
+
+    @Override
+    public Stream<Long> streamAllIds() {
+        return streamingQueries.stream(entityManager.createQuery("SELECT a.id FROM Author a", Long.class));
+    }
+}
@@ -1,6 +1,6 @@
 package com.capgemini.twilight.assessment.author.service.search;
 
-import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
 import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
 import org.springframework.stereotype.Component;
 
@@ -10,8 +10,8 @@ import java.util.Optional;
 public class LastModifiedAuthorSearchStrategy implements AuthorSearchStrategy {
 
     @Override
-    public Optional<Author> search(AuthorRepository repository) {
-        return repository.findTopByOrderByLastModifiedDateDesc();
+    public Optional<AuthorSummary> search(AuthorRepository repository) {
+        return repository.findLastModifiedSummary();
     }
 
     @Override
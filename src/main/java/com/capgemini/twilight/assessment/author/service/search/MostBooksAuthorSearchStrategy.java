@@ -1,6 +1,6 @@
 package com.capgemini.twilight.assessment.author.service.search;
 
-import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
 import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
 import org.springframework.stereotype.Component;
 
@@ -10,7 +10,7 @@ import java.util.Optional;
 public class MostBooksAuthorSearchStrategy implements AuthorSearchStrategy {
 
     @Override
-    public Optional<Author> search(AuthorRepository repository) {
+    public Optional<AuthorSummary> search(AuthorRepository repository) {
         return repository.findAuthorWithMostBooks();
     }
 
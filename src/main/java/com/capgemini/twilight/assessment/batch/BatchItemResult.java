@@ -0,0 +1,27 @@
+package com.capgemini.twilight.assessment.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of one item of a batch request, reported at the item's position in the request")
+public record BatchItemResult(
+    @Schema(description = "Zero-based position of the item in the request.", example = "0")
+    int index,
+    @Schema(description = "HTTP status the item would have received as a single request.", example = "201")
+    int status,
+    @Schema(description = "Identifier of the created resource.", example = "42")
+    Long id,
+    @Schema(description = "Why the item was rejected.")
+    String error
+) {
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, HttpStatus.CREATED.value(), id, null);
+    }
+
+    public static BatchItemResult rejected(int index, HttpStatus status, String error) {
+        return new BatchItemResult(index, status.value(), null, error);
+    }
+}
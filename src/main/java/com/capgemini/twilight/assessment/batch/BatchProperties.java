@@ -0,0 +1,10 @@
+package com.capgemini.twilight.assessment.batch;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "batch")
+public record BatchProperties(
+    @DefaultValue("1000") int maxItems
+) {
+}
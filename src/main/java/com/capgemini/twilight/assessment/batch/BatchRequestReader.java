@@ -0,0 +1,60 @@
+package com.capgemini.twilight.assessment.batch;
+
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the body of a batch endpoint into its list of items, accepting either a JSON array or
+ * newline-delimited JSON, and refuses batches larger than {@code batch.max-items}.
+ */
+@Component
+public class BatchRequestReader {
+
+    private final ObjectMapper objectMapper;
+    private final BatchProperties batchProperties;
+
+    public BatchRequestReader(ObjectMapper objectMapper, BatchProperties batchProperties) {
+        this.objectMapper = objectMapper;
+        this.batchProperties = batchProperties;
+    }
+
+    public <T> List<T> read(List<T> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > batchProperties.maxItems()) {
+            throw tooLarge();
+        }
+        return items;
+    }
+
+    public <T> List<T> readNdjson(InputStream body, Class<T> itemType) {
+        List<T> items = new ArrayList<>();
+        try (MappingIterator<T> iterator = objectMapper.readerFor(itemType).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (items.size() == batchProperties.maxItems()) {
+                    throw tooLarge();
+                }
+                items.add(iterator.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Malformed batch item " + items.size() + ": " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return read(items);
+    }
+
+    private InvalidRequestException tooLarge() {
+        return new InvalidRequestException("Batch must not contain more than " + batchProperties.maxItems() + " items");
+    }
+}
@@ -2,12 +2,26 @@ package com.capgemini.twilight.assessment.book.controller;
 
 import com.capgemini.twilight.assessment.author.model.Author;
 import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.batch.BatchItemResult;
+import com.capgemini.twilight.assessment.batch.BatchRequestReader;
 import com.capgemini.twilight.assessment.book.dto.BookRequest;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
 import com.capgemini.twilight.assessment.book.model.Book;
 import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.service.search.BookSearchParameters;
 import com.capgemini.twilight.assessment.book.service.search.BookSearchStrategy;
+import com.capgemini.twilight.assessment.conditional.IfMatch;
+import com.capgemini.twilight.assessment.conditional.OptimisticUpdates;
+import com.capgemini.twilight.assessment.conditional.ResourceVersion;
 import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import com.capgemini.twilight.assessment.exception.PreconditionRequiredException;
 import com.capgemini.twilight.assessment.exception.ResourceNotFoundException;
+import com.capgemini.twilight.assessment.pagination.KeysetCursor;
+import com.capgemini.twilight.assessment.pagination.KeysetPage;
+import com.capgemini.twilight.assessment.pagination.KeysetSort;
+import com.capgemini.twilight.assessment.pagination.ResponseStreamWriter;
+import com.capgemini.twilight.assessment.pagination.PaginationProperties;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,14 +29,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -34,12 +61,25 @@ public class BookController {
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final List<BookSearchStrategy> strategyList;
+    private final PaginationProperties paginationProperties;
+    private final ResponseStreamWriter responseStreamWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BatchRequestReader batchRequestReader;
+    private final OptimisticUpdates optimisticUpdates;
     private Map<String, BookSearchStrategy> searchStrategies;
 
-    public BookController(BookRepository bookRepository, AuthorRepository authorRepository, List<BookSearchStrategy> strategies) {
+    public BookController(BookRepository bookRepository, AuthorRepository authorRepository, List<BookSearchStrategy> strategies,
+                          PaginationProperties paginationProperties, ResponseStreamWriter responseStreamWriter,
+                          ApplicationEventPublisher eventPublisher, BatchRequestReader batchRequestReader,
+                          OptimisticUpdates optimisticUpdates) {
         this.bookRepository = bookRepository;
         this.authorRepository = authorRepository;
         this.strategyList = strategies;
+        this.paginationProperties = paginationProperties;
+        this.responseStreamWriter = responseStreamWriter;
+        this.eventPublisher = eventPublisher;
+        this.batchRequestReader = batchRequestReader;
+        this.optimisticUpdates = optimisticUpdates;
     }
 
     @PostConstruct
@@ -57,6 +97,7 @@ public class BookController {
         )
     )
     @PostMapping
+    @Transactional
     public ResponseEntity<Book> createBook(@RequestBody BookRequest request) {
         Author author = authorRepository.findById(request.getAuthorId())
             .orElseThrow(() -> new ResourceNotFoundException(
@@ -69,29 +110,144 @@ public class BookController {
         book.setPublicationDate(request.getPublicationDate());
         book.setAuthor(author);
         Book savedBook = bookRepository.save(book);
-        author.getBooks().add(savedBook);
+        if (Hibernate.isInitialized(author.getBooks())) {
+            author.getBooks().add(savedBook);
+        }
+        adjustBookCount(author, 1);
+        eventPublisher.publishEvent(BookChangedEvent.created(BookView.from(savedBook)));
 
         return ResponseEntity.status(HttpStatus.CREATED).body(savedBook);
     }
 
+    @Operation(
+        summary = "Create books in bulk",
+        description = "Accepts a JSON array or newline-delimited JSON and returns one result per item, in request order. "
+            + "Items referring to a missing author are rejected individually; the others are created."
+    )
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Transactional
+    public List<BatchItemResult> createBooks(@RequestBody List<BookRequest> requests) {
+        return createAll(batchRequestReader.read(requests));
+    }
+
+    @Operation(hidden = true)
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Transactional
+    public List<BatchItemResult> createBooksFromNdjson(InputStream body) {
+        return createAll(batchRequestReader.readNdjson(body, BookRequest.class));
+    }
+
+    /**
+     * Resolves every referenced author with a single IN query, inserts the valid books in JDBC batches
+     * and moves each author's book count once, however many of its books the batch contains.
+     */
+    private List<BatchItemResult> createAll(List<BookRequest> requests) {
+        Set<Long> authorIds = requests.stream()
+            .map(BookRequest::getAuthorId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Author> authors = authorRepository.findAllById(authorIds).stream()
+            .collect(Collectors.toMap(Author::getId, Function.identity()));
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Book> books = new ArrayList<>(requests.size());
+        List<Integer> positions = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BookRequest request = requests.get(i);
+            if (request.getAuthorId() == null) {
+                results[i] = BatchItemResult.rejected(i, HttpStatus.BAD_REQUEST, "authorId is required");
+                continue;
+            }
+            Author author = authors.get(request.getAuthorId());
+            if (author == null) {
+                results[i] = BatchItemResult.rejected(i, HttpStatus.NOT_FOUND,
+                    "Cannot create book for non-existent author with id: " + request.getAuthorId());
+                continue;
+            }
+            Book book = new Book();
+            book.setTitle(request.getTitle());
+            book.setPages(request.getPages());
+            book.setPublicationDate(request.getPublicationDate());
+            book.setAuthor(author);
+            books.add(book);
+            positions.add(i);
+        }
+
+        List<Book> savedBooks = bookRepository.saveAllAndFlush(books);
+        Map<Author, Long> added = savedBooks.stream()
+            .collect(Collectors.groupingBy(Book::getAuthor, Collectors.counting()));
+        added.forEach(this::adjustBookCount);
+        for (int i = 0; i < savedBooks.size(); i++) {
+            Book savedBook = savedBooks.get(i);
+            results[positions.get(i)] = BatchItemResult.created(positions.get(i), savedBook.getId());
+            eventPublisher.publishEvent(BookChangedEvent.created(BookView.from(savedBook)));
+        }
+        return Arrays.asList(results);
+    }
+
     @Operation(summary = "Get a book by ID")
     @ApiResponse(
         responseCode = "200",
         description = "Book found",
         content = @Content(mediaType = "application/json",
-            schema = @Schema(implementation = Book.class)
+            schema = @Schema(implementation = BookView.class)
         )
     )
     @GetMapping("/{id}")
-    public Book getBookById(@Parameter(description = "ID of the book to retrieve", required = true) @PathVariable Long id) {
-        return bookRepository.findById(id)
+    public ResponseEntity<BookView> getBookById(
+        @Parameter(description = "ID of the book to retrieve", required = true) @PathVariable Long id,
+        WebRequest request
+    ) {
+        // usually a second-level cache hit, which is cheaper than any version query
+        Book book = bookRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+        return versionOf(book).respond(request, () -> ResponseEntity.ok(BookView.from(book)));
     }
 
-    @Operation(summary = "Get all books")
+    @Operation(
+        summary = "Get all books",
+        description = "Returns one keyset page. When more books exist, the response carries an "
+            + "'" + KeysetPage.NEXT_CURSOR_HEADER + "' header to pass back as 'cursor'. The ETag changes with "
+            + "any book, so If-None-Match answers 304 until something changed."
+    )
     @GetMapping
-    public List<Book> getAllBooks() {
-        return bookRepository.findAll();
+    public ResponseEntity<List<BookView>> getAllBooks(
+        @Parameter(description = "Maximum number of books in the page.")
+        @RequestParam(required = false) Integer size,
+        @Parameter(description = "Keyset order. Supported values: 'id', 'last-modified'.", example = "id")
+        @RequestParam(defaultValue = "id") String sort,
+        @Parameter(description = "Continuation token from the previous page's " + KeysetPage.NEXT_CURSOR_HEADER + " header.")
+        @RequestParam(required = false) String cursor,
+        WebRequest request
+    ) {
+        return ResourceVersion.of(bookRepository.findCollectionVersion())
+            .respond(request, () -> findBookPage(size, sort, cursor));
+    }
+
+    private ResponseEntity<List<BookView>> findBookPage(Integer size, String sort, String cursor) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<BookView> fetched = switch (KeysetSort.fromQueryName(sort)) {
+            case ID -> bookRepository.findViewPageAfterId(after.id(), limit);
+            case LAST_MODIFIED -> bookRepository.findViewPageAfterLastModified(after.lastModifiedDate(), after.id(), limit);
+        };
+
+        return KeysetPage.of(fetched, pageSize, book -> new KeysetCursor(book.lastModifiedDate(), book.id()))
+            .toResponseEntity();
+    }
+
+    @Operation(summary = "Stream all books as newline-delimited JSON")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBooks() {
+        return responseStreamWriter.stream(MediaType.APPLICATION_NDJSON, bookRepository::streamAllViews);
+    }
+
+    @Operation(summary = "Stream all books as a CBOR sequence")
+    @GetMapping(produces = ResponseStreamWriter.APPLICATION_CBOR_SEQ_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBooksAsCbor() {
+        return responseStreamWriter.stream(ResponseStreamWriter.APPLICATION_CBOR_SEQ, bookRepository::streamAllViews);
     }
 
     @Operation(summary = "Update an existing book")
@@ -103,46 +259,180 @@ public class BookController {
         )
     )
     @PutMapping("/{id}")
-    public Book updateBook(
+    public ResponseEntity<Book> updateBook(
         @Parameter(description = "ID of the book to update", required = true) @PathVariable Long id,
-        @RequestBody BookRequest request
+        @RequestBody BookRequest request,
+        @Parameter(description = "ETag of the book as last read; the update is refused with 412 if it changed since. "
+            + "Without it, an update that collides with a concurrent one is retried.")
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatchHeader,
+        WebRequest webRequest
     ) {
+        IfMatch ifMatch = IfMatch.parse(ifMatchHeader, id);
+        Book savedBook = optimisticUpdates.execute(ifMatch, () -> applyUpdate(id, request, ifMatch, false));
+        return versionOf(savedBook).ok(webRequest, savedBook);
+    }
+
+    @Operation(
+        summary = "Partially update a book",
+        description = "Changes only the properties present in the body. Requires If-Match with the book's ETag, "
+            + "so that the change applies to the version it was computed from; 412 if the book changed since."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Book updated successfully",
+        content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = Book.class)
+        )
+    )
+    @PatchMapping("/{id}")
+    public ResponseEntity<Book> patchBook(
+        @Parameter(description = "ID of the book to update", required = true) @PathVariable Long id,
+        @RequestBody BookRequest request,
+        @Parameter(description = "ETag of the book as last read.")
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatchHeader,
+        WebRequest webRequest
+    ) {
+        IfMatch ifMatch = IfMatch.parse(ifMatchHeader, id);
+        if (ifMatch == null) {
+            throw new PreconditionRequiredException("If-Match is required to patch book with id: " + id);
+        }
+        Book savedBook = optimisticUpdates.execute(ifMatch, () -> applyUpdate(id, request, ifMatch, true));
+        return versionOf(savedBook).ok(webRequest, savedBook);
+    }
+
+    /**
+     * The book is usually a second-level cache hit, so an update costs its single
+     * {@code UPDATE ... WHERE id = ? AND version = ?}, which fails if the book moved on after it was cached.
+     *
+     * @param partial leave the properties the request does not carry unchanged
+     */
+    private Book applyUpdate(Long id, BookRequest request, IfMatch ifMatch, boolean partial) {
+        Book existingBook = bookRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
+        if (ifMatch != null) {
+            ifMatch.check(existingBook.getVersion());
+        }
+        BookView previous = BookView.from(existingBook);
+
+        if (!partial || request.getTitle() != null) {
+            existingBook.setTitle(request.getTitle());
+        }
+        if (!partial || request.getPages() != null) {
+            existingBook.setPages(request.getPages());
+        }
+        if (!partial || request.getPublicationDate() != null) {
+            existingBook.setPublicationDate(request.getPublicationDate());
+        }
+
+        Author currentAuthor = existingBook.getAuthor();
+        if (request.getAuthorId() != null && !request.getAuthorId().equals(currentAuthor.getId())) {
+            Author newAuthor = authorRepository.findById(request.getAuthorId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                    "Cannot move book to non-existent author with id: " + request.getAuthorId()
+                ));
+            removeFromLoadedAuthor(existingBook);
+            existingBook.setAuthor(newAuthor);
+            if (Hibernate.isInitialized(newAuthor.getBooks())) {
+                newAuthor.getBooks().add(existingBook);
+            }
+            adjustBookCount(currentAuthor, -1);
+            adjustBookCount(newAuthor, 1);
+        }
+        Book savedBook = bookRepository.saveAndFlush(existingBook);
+        eventPublisher.publishEvent(BookChangedEvent.updated(previous, BookView.from(savedBook)));
+        return savedBook;
+    }
+
+    private static ResourceVersion versionOf(Book book) {
+        return ResourceVersion.lastModified(book.getLastModifiedDate(), book.getId(), book.getVersion());
+    }
+
+    @Operation(summary = "Delete a book")
+    @ApiResponse(responseCode = "204", description = "Book deleted successfully")
+    @DeleteMapping("/{id}")
+    @Transactional
+    public ResponseEntity<Void> deleteBook(@Parameter(description = "ID of the book to delete", required = true) @PathVariable Long id) {
         Book existingBook = bookRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
 
-        existingBook.setTitle(request.getTitle());
-        existingBook.setPages(request.getPages());
-        existingBook.setPublicationDate(request.getPublicationDate());
-        return bookRepository.save(existingBook);
+        Author author = existingBook.getAuthor();
+        BookView previous = BookView.from(existingBook);
+        removeFromLoadedAuthor(existingBook);
+        bookRepository.delete(existingBook);
+        adjustBookCount(author, -1);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(previous));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Moves the stored book count and, when the author is already loaded, its in-memory copy: the
+     * counter is not written through dirty checking, so a bulk update alone would leave it stale.
+     */
+    private void adjustBookCount(Author author, long delta) {
+        authorRepository.adjustBookCount(author.getId(), delta);
+        if (Hibernate.isInitialized(author)) {
+            author.setBookCount(author.getBookCount() + delta);
+        }
+    }
+
+    /**
+     * Keeps {@code Author.books} consistent when it is already in the persistence context, without
+     * loading the collection (or the author) only to remove a single element from it.
+     */
+    private static void removeFromLoadedAuthor(Book book) {
+        Author author = book.getAuthor();
+        if (Hibernate.isInitialized(author) && Hibernate.isInitialized(author.getBooks())) {
+            author.getBooks().remove(book);
+        }
     }
 
     @Operation(summary = "Search for books")
     @GetMapping("/search")
-    public Object searchBooks(
+    public ResponseEntity<?> searchBooks(
         @Parameter(
-            description = "The search query type. Supported values: 'longest', 'oldest', 'last-modified', 'by-date'.",
+            description = "The search query type. Supported values: 'longest', 'oldest', 'last-modified', 'by-date', 'title', 'filter'.",
             required = true,
             example = "longest"
         )
         @RequestParam String query,
-        @Parameter(description = "The start date for a 'by-date' search (inclusive). Format: YYYY-MM-DD.")
+        @Parameter(description = "For 'title': words to find in book titles and author names; the last one may be cut short.")
+        @RequestParam(required = false) String text,
+        @Parameter(description = "The start date for a 'by-date' or 'filter' search (inclusive). Format: YYYY-MM-DD.")
         @RequestParam(required = false) LocalDate fromDate,
-        @Parameter(description = "The end date for a 'by-date' search (inclusive). Format: YYYY-MM-DD.")
-        @RequestParam(required = false) LocalDate toDate
+        @Parameter(description = "The end date for a 'by-date' or 'filter' search (inclusive). Format: YYYY-MM-DD.")
+        @RequestParam(required = false) LocalDate toDate,
+        @Parameter(description = "For 'filter': the minimum number of pages (inclusive).")
+        @RequestParam(required = false) Integer minPages,
+        @Parameter(description = "For 'filter': the maximum number of pages (inclusive).")
+        @RequestParam(required = false) Integer maxPages,
+        @Parameter(description = "For 'filter': only books of this author.")
+        @RequestParam(required = false) Long authorId,
+        @Parameter(description = "For 'filter': only books whose title starts with this text.")
+        @RequestParam(required = false) String titlePrefix,
+        @Parameter(description = "For 'filter': the order. Supported values: 'id', 'title', 'pages', 'publication-date', 'last-modified'.",
+            example = "id")
+        @RequestParam(required = false) String sort,
+        @Parameter(description = "For 'longest', 'oldest' and 'last-modified': return the best N books as a list instead of a single book. "
+            + "For 'title': the number of best matches to return. For 'by-date' and 'filter': the page size.")
+        @RequestParam(required = false) Integer limit,
+        @Parameter(description = "For 'by-date': continuation token from the previous page's " + KeysetPage.NEXT_CURSOR_HEADER + " header.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "For 'by-date': order by publication date then id. For 'filter': the direction of 'sort'. "
+            + "Supported values: 'asc', 'desc'.", example = "asc")
+        @RequestParam(defaultValue = "asc") String direction,
+        @Parameter(description = "Comma-separated book properties to return, e.g. 'id,title'. All of them by default.")
+        @RequestParam(name = BookFields.PARAMETER, required = false) List<String> fields
     ) {
         BookSearchStrategy strategy = searchStrategies.get(query);
         if (strategy == null) {
             throw new InvalidRequestException("Invalid query parameter: " + query);
         }
 
-        Object result = strategy.search(bookRepository, fromDate, toDate);
-
-        if (result instanceof Optional) {
-            @SuppressWarnings("unchecked")
-            Optional<Book> optionalBook = (Optional<Book>) result;
-            return optionalBook.orElseThrow(() -> new ResourceNotFoundException("Book not found for query: " + query));
-        }
-
-        return result;
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+            .orElseThrow(() -> new InvalidRequestException("Invalid direction parameter: " + direction));
+        return strategy.search(bookRepository, new BookSearchParameters(
+            text, fromDate, toDate, minPages, maxPages, authorId, titlePrefix, sort,
+            sortDirection, limit, cursor, BookFields.parse(fields)
+        )).toResponseEntity(query);
     }
 }
\ No newline at end of file
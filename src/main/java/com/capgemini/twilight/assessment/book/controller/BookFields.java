@@ -0,0 +1,55 @@
+package com.capgemini.twilight.assessment.book.controller;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@code fields} request parameter of the book endpoints: the {@link BookView} properties to
+ * serialize. Without it every property is.
+ */
+final class BookFields {
+
+    static final String PARAMETER = "fields";
+
+    private static final Set<String> NAMES = Arrays.stream(BookView.class.getRecordComponents())
+        .map(component -> component.getName())
+        .collect(Collectors.toUnmodifiableSet());
+
+    private BookFields() {
+    }
+
+    static Set<String> parse(List<String> fields) {
+        if (fields == null) {
+            return Set.of();
+        }
+        Set<String> parsed = fields.stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        for (String field : parsed) {
+            if (!NAMES.contains(field)) {
+                throw new InvalidRequestException("Invalid field: " + field);
+            }
+        }
+        return parsed;
+    }
+
+    static FilterProvider filterFor(Set<String> fields) {
+        return new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll())
+            .setFailOnUnknownId(false)
+            .addFilter(BookView.JSON_FILTER, fields.isEmpty()
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
@@ -0,0 +1,25 @@
+package com.capgemini.twilight.assessment.book.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.List;
+
+@ControllerAdvice(assignableTypes = BookController.class)
+public class BookFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        // the servlet parameters, unlike the raw URI, are already percent-decoded
+        String[] fields = ((ServletServerHttpRequest) request).getServletRequest().getParameterValues(BookFields.PARAMETER);
+        bodyContainer.setFilters(BookFields.filterFor(BookFields.parse(fields == null ? null : List.of(fields))));
+    }
+}
@@ -0,0 +1,15 @@
+package com.capgemini.twilight.assessment.book.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * The {@code (publicationDate, id)} key of a book: everything the composite publication date index
+ * holds, so a scan returning only this never has to read the rows themselves.
+ */
+@Schema(description = "Publication date and id of a book, returned when no other field is requested")
+@JsonFilter(BookView.JSON_FILTER)
+public record BookDateKey(Long id, LocalDate publicationDate) {
+}
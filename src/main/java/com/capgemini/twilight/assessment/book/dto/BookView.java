@@ -0,0 +1,35 @@
+package com.capgemini.twilight.assessment.book.dto;
+
+import com.capgemini.twilight.assessment.book.model.Book;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Schema(description = "Read-only representation of a book that refers to its author by id only")
+@JsonFilter(BookView.JSON_FILTER)
+public record BookView(
+    Long id,
+    String title,
+    Integer pages,
+    LocalDate publicationDate,
+    Long authorId,
+    Instant createdDate,
+    Instant lastModifiedDate
+) {
+
+    public static final String JSON_FILTER = "bookViewFilter";
+
+    public static BookView from(Book book) {
+        return new BookView(
+            book.getId(),
+            book.getTitle(),
+            book.getPages(),
+            book.getPublicationDate(),
+            book.getAuthor().getId(),
+            book.getCreatedDate(),
+            book.getLastModifiedDate()
+        );
+    }
+}
@@ -0,0 +1,23 @@
+package com.capgemini.twilight.assessment.book.event;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+
+/**
+ * Published synchronously from the book write paths, inside their transaction, once the new state
+ * (including generated timestamps) is known. {@code previous} is {@code null} for a created book and
+ * {@code current} is {@code null} for a deleted one.
+ */
+public record BookChangedEvent(Long bookId, BookView previous, BookView current) {
+
+    public static BookChangedEvent created(BookView current) {
+        return new BookChangedEvent(current.id(), null, current);
+    }
+
+    public static BookChangedEvent updated(BookView previous, BookView current) {
+        return new BookChangedEvent(current.id(), previous, current);
+    }
+
+    public static BookChangedEvent deleted(BookView previous) {
+        return new BookChangedEvent(previous.id(), previous, null);
+    }
+}
@@ -5,6 +5,9 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,8 +19,8 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "book", indexes = {
     @Index(
-        name = "idx_book_publication_date",
-        columnList = "publicationDate"
+        name = "idx_book_publication_date_id",
+        columnList = "publicationDate, id"
     ),
     @Index(
         name = "idx_book_pages",
@@ -28,10 +31,18 @@ import java.time.LocalDate;
         columnList = "lastModifiedDate"
     )
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "book")
 public class Book {
 
+    /**
+     * Pooled sequence rather than IDENTITY so inserts can be JDBC-batched: ids are handed out 50 at a
+     * time without a round trip per row. On MySQL Hibernate emulates the sequence with the
+     * {@code book_seq} table.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -50,4 +61,12 @@ public class Book {
 
     @UpdateTimestamp
     private Instant lastModifiedDate;
+
+    /**
+     * Optimistic lock: updates are issued as {@code UPDATE ... WHERE id = ? AND version = ?}, so a
+     * concurrent write is detected instead of overwritten. Also the version in the book's ETag.
+     */
+    @Version
+    @ColumnDefault("0")
+    private long version;
 }
\ No newline at end of file
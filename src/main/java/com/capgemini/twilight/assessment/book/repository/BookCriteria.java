@@ -0,0 +1,22 @@
+package com.capgemini.twilight.assessment.book.repository;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+/**
+ * Filters of a book query, each one optional and all of them combined with AND. Bounds are
+ * inclusive; {@code titlePrefix} matches the start of the title literally.
+ */
+public record BookCriteria(
+    Integer minPages,
+    Integer maxPages,
+    LocalDate fromDate,
+    LocalDate toDate,
+    Long authorId,
+    String titlePrefix,
+    BookSortField sort,
+    Sort.Direction direction,
+    int limit
+) {
+}
@@ -0,0 +1,10 @@
+package com.capgemini.twilight.assessment.book.repository;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+
+import java.util.List;
+
+public interface BookCriteriaRepository {
+
+    List<BookView> findViews(BookCriteria criteria);
+}
@@ -0,0 +1,124 @@
+package com.capgemini.twilight.assessment.book.repository;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Runs a {@link BookCriteria} as JPQL. The filters that are present, the sort field and the direction
+ * make up the query shape; the text of each shape is built on first use and kept in a slot indexed by
+ * the shape, so a request only binds values. Hibernate caches its interpretation of a query by that
+ * text, which leaves every shape parsed once however often it runs.
+ */
+@Transactional(readOnly = true)
+class BookCriteriaRepositoryImpl implements BookCriteriaRepository {
+
+    private static final int MIN_PAGES = 1;
+    private static final int MAX_PAGES = 1 << 1;
+    private static final int FROM_DATE = 1 << 2;
+    private static final int TO_DATE = 1 << 3;
+    private static final int AUTHOR_ID = 1 << 4;
+    private static final int TITLE_PREFIX = 1 << 5;
+
+    /** Indexed by filter bit position. */
+    private static final String[] CONDITIONS = {
+        "b.pages >= :minPages",
+        "b.pages <= :maxPages",
+        "b.publicationDate >= :fromDate",
+        "b.publicationDate <= :toDate",
+        "b.author.id = :authorId",
+        "b.title LIKE :titlePrefix ESCAPE '!'"
+    };
+
+    private static final BookSortField[] SORT_FIELDS = BookSortField.values();
+
+    private final EntityManager entityManager;
+    private final AtomicReferenceArray<String> queries =
+        new AtomicReferenceArray<>((1 << CONDITIONS.length) * SORT_FIELDS.length * 2);
+
+    BookCriteriaRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BookView> findViews(BookCriteria criteria) {
+        int filters = filtersOf(criteria);
+        boolean descending = criteria.direction() == Sort.Direction.DESC;
+        int shape = (filters * SORT_FIELDS.length + criteria.sort().ordinal()) * 2 + (descending ? 1 : 0);
+        String jpql = queries.get(shape);
+        if (jpql == null) {
+            jpql = compile(filters, criteria.sort(), descending);
+            queries.set(shape, jpql);
+        }
+
+        TypedQuery<BookView> query = entityManager.createQuery(jpql, BookView.class);
+        if ((filters & MIN_PAGES) != 0) {
+            query.setParameter("minPages", criteria.minPages());
+        }
+        if ((filters & MAX_PAGES) != 0) {
+            query.setParameter("maxPages", criteria.maxPages());
+        }
+        if ((filters & FROM_DATE) != 0) {
+            query.setParameter("fromDate", criteria.fromDate());
+        }
+        if ((filters & TO_DATE) != 0) {
+            query.setParameter("toDate", criteria.toDate());
+        }
+        if ((filters & AUTHOR_ID) != 0) {
+            query.setParameter("authorId", criteria.authorId());
+        }
+        if ((filters & TITLE_PREFIX) != 0) {
+            query.setParameter("titlePrefix", escapeLike(criteria.titlePrefix()) + "%");
+        }
+        return query.setMaxResults(criteria.limit()).getResultList();
+    }
+
+    private static int filtersOf(BookCriteria criteria) {
+        int filters = 0;
+        if (criteria.minPages() != null) {
+            filters |= MIN_PAGES;
+        }
+        if (criteria.maxPages() != null) {
+            filters |= MAX_PAGES;
+        }
+        if (criteria.fromDate() != null) {
+            filters |= FROM_DATE;
+        }
+        if (criteria.toDate() != null) {
+            filters |= TO_DATE;
+        }
+        if (criteria.authorId() != null) {
+            filters |= AUTHOR_ID;
+        }
+        if (criteria.titlePrefix() != null) {
+            filters |= TITLE_PREFIX;
+        }
+        return filters;
+    }
+
+    private static String compile(int filters, BookSortField sort, boolean descending) {
+        StringBuilder jpql = new StringBuilder(BookRepository.SELECT_VIEW);
+        String keyword = "WHERE ";
+        for (int i = 0; i < CONDITIONS.length; i++) {
+            if ((filters & (1 << i)) != 0) {
+                jpql.append(keyword).append(CONDITIONS[i]).append('\n');
+                keyword = "  AND ";
+            }
+        }
+        String direction = descending ? " DESC" : " ASC";
+        jpql.append("ORDER BY b.").append(sort.getAttribute()).append(direction);
+        if (sort != BookSortField.ID) {
+            jpql.append(", b.id").append(direction);
+        }
+        return jpql.toString();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
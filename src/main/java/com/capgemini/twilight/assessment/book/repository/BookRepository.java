@@ -1,25 +1,104 @@
 package com.capgemini.twilight.assessment.book.repository;
 
+import com.capgemini.twilight.assessment.book.dto.BookDateKey;
+import com.capgemini.twilight.assessment.book.dto.BookView;
 import com.capgemini.twilight.assessment.book.model.Book;
+import com.capgemini.twilight.assessment.conditional.CollectionVersion;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+@Transactional(readOnly = true)
+public interface BookRepository extends JpaRepository<Book, Long>, BookCriteriaRepository, BookStreamRepository {
 
-    Optional<Book> findTopByOrderByPagesDesc();
+    String SELECT_VIEW = """
+        SELECT new com.capgemini.twilight.assessment.book.dto.BookView(
+            b.id, b.title, b.pages, b.publicationDate, b.author.id, b.createdDate, b.lastModifiedDate
+        )
+        FROM Book b
+        """;
 
-    Optional<Book> findTopByOrderByPublicationDateAsc();
+    @Query(SELECT_VIEW + "ORDER BY b.pages DESC, b.id ASC")
+    List<BookView> findViewsOrderByPagesDesc(Limit limit);
 
-    Optional<Book> findTopByOrderByLastModifiedDateDesc();
+    @Query(SELECT_VIEW + "WHERE b.publicationDate IS NOT NULL ORDER BY b.publicationDate ASC, b.id ASC")
+    List<BookView> findViewsOrderByPublicationDateAsc(Limit limit);
 
-    List<Book> findByPublicationDateBetween(LocalDate fromDate, LocalDate toDate);
+    @Query(SELECT_VIEW + "ORDER BY b.lastModifiedDate DESC, b.id DESC")
+    List<BookView> findViewsOrderByLastModifiedDateDesc(Limit limit);
 
-    List<Book> findByPublicationDateGreaterThanEqual(LocalDate date);
+    /**
+     * Publication date window and keyset position of the by-date search; every bound is optional. A
+     * null bound folds to a constant before planning, leaving a single range on the
+     * {@code (publicationDate, id)} index that stops after {@code limit} rows.
+     */
+    String PUBLICATION_DATE_WINDOW = """
+        WHERE b.publicationDate IS NOT NULL
+          AND (:fromDate IS NULL OR b.publicationDate >= :fromDate)
+          AND (:toDate IS NULL OR b.publicationDate <= :toDate)
+        """;
 
-    List<Book> findByPublicationDateLessThanEqual(LocalDate date);
-}
\ No newline at end of file
+    String AFTER_ASC = """
+          AND (:afterDate IS NULL OR b.publicationDate > :afterDate OR (b.publicationDate = :afterDate AND b.id > :afterId))
+        ORDER BY b.publicationDate ASC, b.id ASC
+        """;
+
+    String AFTER_DESC = """
+          AND (:afterDate IS NULL OR b.publicationDate < :afterDate OR (b.publicationDate = :afterDate AND b.id < :afterId))
+        ORDER BY b.publicationDate DESC, b.id DESC
+        """;
+
+    String SELECT_DATE_KEY = """
+        SELECT new com.capgemini.twilight.assessment.book.dto.BookDateKey(b.id, b.publicationDate)
+        FROM Book b
+        """;
+
+    @Query(SELECT_VIEW + PUBLICATION_DATE_WINDOW + AFTER_ASC)
+    List<BookView> findViewPageByPublicationDateAsc(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                                    @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                                    Limit limit);
+
+    @Query(SELECT_VIEW + PUBLICATION_DATE_WINDOW + AFTER_DESC)
+    List<BookView> findViewPageByPublicationDateDesc(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                                     @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                                     Limit limit);
+
+    @Query(SELECT_DATE_KEY + PUBLICATION_DATE_WINDOW + AFTER_ASC)
+    List<BookDateKey> findDateKeyPageAsc(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                         @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                         Limit limit);
+
+    @Query(SELECT_DATE_KEY + PUBLICATION_DATE_WINDOW + AFTER_DESC)
+    List<BookDateKey> findDateKeyPageDesc(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+                                          @Param("afterDate") LocalDate afterDate, @Param("afterId") Long afterId,
+                                          Limit limit);
+
+    @Query("SELECT new com.capgemini.twilight.assessment.conditional.CollectionVersion(COUNT(b), MAX(b.lastModifiedDate)) FROM Book b")
+    CollectionVersion findCollectionVersion();
+
+    @Query(SELECT_VIEW + "WHERE b.id IN :ids")
+    List<BookView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_VIEW + "WHERE b.id > :id ORDER BY b.id ASC")
+    List<BookView> findViewPageAfterId(@Param("id") Long id, Limit limit);
+
+    @Query(SELECT_VIEW + """
+        WHERE b.lastModifiedDate > :lastModifiedDate
+           OR (b.lastModifiedDate = :lastModifiedDate AND b.id > :id)
+        ORDER BY b.lastModifiedDate ASC, b.id ASC
+        """)
+    List<BookView> findViewPageAfterLastModified(
+        @Param("lastModifiedDate") Instant lastModifiedDate,
+        @Param("id") Long id,
+        Limit limit
+    );
+}
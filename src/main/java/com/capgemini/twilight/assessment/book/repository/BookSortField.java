@@ -0,0 +1,40 @@
+package com.capgemini.twilight.assessment.book.repository;
+
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+
+import java.util.Arrays;
+
+/**
+ * Orders a {@link BookCriteria} query; ties are broken by id in the same direction.
+ */
+public enum BookSortField {
+
+    ID("id", "id"),
+    TITLE("title", "title"),
+    PAGES("pages", "pages"),
+    PUBLICATION_DATE("publication-date", "publicationDate"),
+    LAST_MODIFIED("last-modified", "lastModifiedDate");
+
+    private final String queryName;
+    private final String attribute;
+
+    BookSortField(String queryName, String attribute) {
+        this.queryName = queryName;
+        this.attribute = attribute;
+    }
+
+    public String getQueryName() {
+        return queryName;
+    }
+
+    String getAttribute() {
+        return attribute;
+    }
+
+    public static BookSortField fromQueryName(String queryName) {
+        return Arrays.stream(values())
+            .filter(sort -> sort.queryName.equals(queryName))
+            .findFirst()
+            .orElseThrow(() -> new InvalidRequestException("Invalid sort parameter: " + queryName));
+    }
+}
@@ -0,0 +1,15 @@
+package com.capgemini.twilight.assessment.book.repository;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface BookStreamRepository {
+
+    Stream<BookView> streamAllViews();
+
+    Stream<BookView> streamViewsModifiedSince(Instant since);
+
+    Stream<Long> streamAllIds();
+}
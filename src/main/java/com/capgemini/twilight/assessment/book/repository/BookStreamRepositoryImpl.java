@@ -0,0 +1,42 @@
+package com.capgemini.twilight.assessment.book.repository;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.pagination.StreamingQueries;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * The book streams, run through {@link StreamingQueries} for a fetch size that suits the driver.
+ */
+@Transactional(readOnly = true)
+class BookStreamRepositoryImpl implements BookStreamRepository {
+
+    private final EntityManager entityManager;
+    private final StreamingQueries streamingQueries;
+
+    BookStreamRepositoryImpl(EntityManager entityManager, StreamingQueries streamingQueries) {
+        this.entityManager = entityManager;
+        this.streamingQueries = streamingQueries;
+    }
+
+    @Override
+    public Stream<BookView> streamAllViews() {
+        return streamingQueries.stream(entityManager.createQuery(
+            BookRepository.SELECT_VIEW + "ORDER BY b.id ASC", BookView.class));
+    }
+
+    @Override
+    public Stream<BookView> streamViewsModifiedSince(Instant since) {
+        return streamingQueries.stream(entityManager.createQuery(
+                BookRepository.SELECT_VIEW + "WHERE b.lastModifiedDate >= :since ORDER BY b.id ASC", BookView.class)
+            .setParameter("since", since));
+    }
+
+    @Override
+    public Stream<Long> streamAllIds() {
+        return streamingQueries.stream(entityManager.createQuery("SELECT b.id FROM Book b", Long.class));
+    }
+}
@@ -0,0 +1,319 @@
+package com.capgemini.twilight.assessment.book.service.index;
+
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.author.event.AuthorChangedEvent;
+import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over book titles and author names for the {@code title} search. It is
+ * loaded at startup, from the segment in {@code book.title-index.directory} plus the rows modified
+ * since when there is one and from the database otherwise, and is updated from
+ * {@link BookChangedEvent}s and {@link AuthorChangedEvent}s as writes are flushed, reverting them
+ * when the write rolls back. Without a directory the index is rebuilt from the database on every start.
+ * <p>
+ * The segment is rewritten on a fixed delay and at shutdown, from committed changes only: the books
+ * and authors are copied under the lock and the changes still in flight reverted on the copy, which
+ * is then indexed and written without holding up searches or writes. The catch-up re-reads the
+ * rows modified from {@code catch-up-overlap} before the segment was taken, which covers writes that
+ * were in flight then and committed within the overlap. Deletions leave no row to re-read, so the
+ * catch-up also drops the books and authors whose ids are no longer in the tables, including those
+ * deleted behind the API's back. While running, such rows stay in the index until the next load;
+ * searches skip them when resolving the ranked ids.
+ */
+@Component
+public class TitleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TitleIndex.class);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final Path directory;
+    private final Duration catchUpOverlap;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<UncommittedChange> uncommitted = new LinkedHashSet<>();
+    private TitleIndexState state = new TitleIndexState();
+    private List<Consumer<TitleIndexState>> changedWhileLoading;
+    private boolean loaded;
+
+    public TitleIndex(BookRepository bookRepository, AuthorRepository authorRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${book.title-index.directory:}") String directory,
+                      @Value("${book.title-index.catch-up-overlap:PT1M}") Duration catchUpOverlap) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.catchUpOverlap = catchUpOverlap;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return the ids of the best {@code limit} books for {@code text}, best first
+     */
+    public List<Long> search(String text, int limit) {
+        lock.readLock().lock();
+        try {
+            return state.search(TitleTokenizer.tokenize(text), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with a freshly loaded one. Changes arriving meanwhile are applied to the
+     * current index and replayed onto the new one before it takes over.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            changedWhileLoading = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TitleIndexState fresh = null;
+        try {
+            fresh = readOnlyTransaction.execute(status -> readSegmentOrBuild());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (fresh != null) {
+                    for (Consumer<TitleIndexState> change : changedWhileLoading) {
+                        change.accept(fresh);
+                    }
+                    state = fresh;
+                    loaded = true;
+                }
+                changedWhileLoading = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // synchronized: the scheduled and the shutdown snapshot share the temporary file
+    @Scheduled(fixedDelayString = "${book.title-index.snapshot-interval:PT10M}", initialDelayString = "${book.title-index.snapshot-interval:PT10M}")
+    public synchronized void snapshot() {
+        if (directory == null) {
+            return;
+        }
+        Instant watermark = Instant.now();
+        TitleIndexState.Contents contents;
+        List<UncommittedChange> inFlight;
+        lock.readLock().lock();
+        try {
+            if (!loaded || changedWhileLoading != null) {
+                return;
+            }
+            contents = state.contents();
+            inFlight = new ArrayList<>(uncommitted);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        TitleIndexState committed = contents.index();
+        for (int i = inFlight.size() - 1; i >= 0; i--) {
+            inFlight.get(i).revert().accept(committed);
+        }
+        try {
+            TitleIndexSegment.write(directory, committed, watermark);
+        } catch (IOException e) {
+            log.warn("Could not write the title index segment to {}", directory, e);
+        }
+    }
+
+    @PreDestroy
+    void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        apply(new UncommittedChange(
+            index -> putOrRemoveBook(index, event.bookId(), event.current()),
+            index -> putOrRemoveBook(index, event.bookId(), event.previous())));
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        apply(new UncommittedChange(
+            index -> index.putAuthor(event.authorId(), event.currentName()),
+            index -> {
+                if (event.previousName() == null) {
+                    index.removeAuthor(event.authorId());
+                } else {
+                    index.putAuthor(event.authorId(), event.previousName());
+                }
+            }));
+    }
+
+    private TitleIndexState readSegmentOrBuild() {
+        TitleIndexSegment.Loaded segment = readSegment();
+        if (segment == null) {
+            TitleIndexState fresh = new TitleIndexState();
+            try (Stream<AuthorSummary> authors = authorRepository.streamAllSummaries()) {
+                authors.forEach(author -> fresh.putAuthor(author.id(), author.name()));
+            }
+            try (Stream<BookView> books = bookRepository.streamAllViews()) {
+                books.forEach(book -> fresh.putBook(book.id(), book.title(), book.authorId()));
+            }
+            log.info("Title index built from the database with {} books", fresh.bookCount());
+            return fresh;
+        }
+
+        TitleIndexState fresh = segment.state();
+        Instant since = segment.watermark().minus(catchUpOverlap);
+        int deleted = dropDeleted(fresh);
+        int[] caughtUp = {0};
+        try (Stream<AuthorSummary> authors = authorRepository.streamSummariesModifiedSince(since)) {
+            authors.forEach(author -> fresh.putAuthor(author.id(), author.name()));
+        }
+        try (Stream<BookView> books = bookRepository.streamViewsModifiedSince(since)) {
+            books.forEach(book -> {
+                fresh.putBook(book.id(), book.title(), book.authorId());
+                caughtUp[0]++;
+            });
+        }
+        log.info("Title index loaded from segment of {} with {} books, {} re-read since, {} deleted", segment.watermark(),
+            fresh.bookCount(), caughtUp[0], deleted);
+        return fresh;
+    }
+
+    /**
+     * @return the number of books dropped
+     */
+    private int dropDeleted(TitleIndexState index) {
+        Set<Long> goneAuthors = new HashSet<>(index.authorNames.keySet());
+        try (Stream<Long> ids = authorRepository.streamAllIds()) {
+            ids.forEach(goneAuthors::remove);
+        }
+        goneAuthors.forEach(index::removeAuthor);
+
+        Set<Long> goneBooks = new HashSet<>(index.bookTitles.keySet());
+        try (Stream<Long> ids = bookRepository.streamAllIds()) {
+            ids.forEach(goneBooks::remove);
+        }
+        goneBooks.forEach(index::removeBook);
+        return goneBooks.size();
+    }
+
+    private TitleIndexSegment.Loaded readSegment() {
+        if (directory == null) {
+            return null;
+        }
+        try {
+            return TitleIndexSegment.read(directory);
+        } catch (IOException e) {
+            log.warn("Discarding unreadable title index segment in {}", directory, e);
+            return null;
+        }
+    }
+
+    private void change(Consumer<TitleIndexState> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void putOrRemoveBook(TitleIndexState index, Long bookId, BookView book) {
+        if (book == null) {
+            index.removeBook(bookId);
+        } else {
+            index.putBook(bookId, book.title(), book.authorId());
+        }
+    }
+
+    /**
+     * Applies the change now and keeps it as uncommitted until its transaction completes, reverting
+     * it there unless the transaction committed.
+     */
+    private void apply(UncommittedChange uncommittedChange) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        lock.writeLock().lock();
+        try {
+            change(uncommittedChange.apply());
+            if (inTransaction) {
+                uncommitted.add(uncommittedChange);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (!inTransaction) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.writeLock().lock();
+                try {
+                    uncommitted.remove(uncommittedChange);
+                    if (status != STATUS_COMMITTED) {
+                        change(uncommittedChange.revert());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Compared by identity: a transaction may apply the same change twice.
+     */
+    private static final class UncommittedChange {
+
+        private final Consumer<TitleIndexState> apply;
+        private final Consumer<TitleIndexState> revert;
+
+        UncommittedChange(Consumer<TitleIndexState> apply, Consumer<TitleIndexState> revert) {
+            this.apply = apply;
+            this.revert = revert;
+        }
+
+        Consumer<TitleIndexState> apply() {
+            return apply;
+        }
+
+        Consumer<TitleIndexState> revert() {
+            return revert;
+        }
+    }
+}
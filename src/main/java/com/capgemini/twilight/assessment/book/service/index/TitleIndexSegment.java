@@ -0,0 +1,156 @@
+package com.capgemini.twilight.assessment.book.service.index;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-disk image of a {@link TitleIndexState}, written and read through memory-mapped files so neither
+ * direction copies through an intermediate stream buffer. The postings are stored as they are, so
+ * loading a segment does not tokenize anything. The watermark is the time the segment was taken;
+ * rows modified after it have to be re-indexed from the database.
+ *
+ * <pre>
+ * int magic, int version, long watermark (epoch millis)
+ * int authors,      { long id, string name }
+ * int books,        { long id, long authorId, string title }
+ * int title terms,  { string term, int n, long bookId * n }
+ * int author terms, { string term, int n, long authorId * n }
+ * </pre>
+ * Strings are an int byte length ({@code -1} for null) followed by UTF-8.
+ */
+final class TitleIndexSegment {
+
+    static final String FILE_NAME = "title-index.seg";
+
+    private static final int MAGIC = 0x54495831;
+    private static final int VERSION = 1;
+
+    private TitleIndexSegment() {
+    }
+
+    record Loaded(TitleIndexState state, Instant watermark) {
+    }
+
+    static void write(Path directory, TitleIndexState state, Instant watermark) throws IOException {
+        Files.createDirectories(directory);
+        long size = 4 + 4 + 8
+            + 4 + state.authorNames.values().stream().mapToLong(name -> 8 + stringSize(name)).sum()
+            + 4 + state.bookTitles.values().stream().mapToLong(title -> 16 + stringSize(title)).sum()
+            + postingsSize(state.titleTerms)
+            + postingsSize(state.authorTerms);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Title index segment of " + size + " bytes exceeds a single mapping");
+        }
+
+        Path temporary = directory.resolve(FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(watermark.toEpochMilli());
+            buffer.putInt(state.authorNames.size());
+            state.authorNames.forEach((id, name) -> putString(buffer.putLong(id), name));
+            buffer.putInt(state.bookTitles.size());
+            state.bookTitles.forEach((id, title) -> putString(buffer.putLong(id).putLong(state.bookAuthors.get(id)), title));
+            putPostings(buffer, state.titleTerms);
+            putPostings(buffer, state.authorTerms);
+            buffer.force();
+        }
+        Files.move(temporary, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the segment in {@code directory}, or {@code null} when there is none
+     * @throws IOException when the file cannot be read or is not a segment of this version
+     */
+    static Loaded read(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " title index segment: " + file);
+            }
+            Instant watermark = Instant.ofEpochMilli(buffer.getLong());
+            TitleIndexState state = new TitleIndexState();
+            for (int i = buffer.getInt(); i > 0; i--) {
+                state.authorNames.put(buffer.getLong(), getString(buffer));
+            }
+            for (int i = buffer.getInt(); i > 0; i--) {
+                Long bookId = buffer.getLong();
+                Long authorId = buffer.getLong();
+                state.bookTitles.put(bookId, getString(buffer));
+                state.bookAuthors.put(bookId, authorId);
+                state.authorBooks.computeIfAbsent(authorId, id -> new HashSet<>()).add(bookId);
+            }
+            getPostings(buffer, state.titleTerms);
+            getPostings(buffer, state.authorTerms);
+            return new Loaded(state, watermark);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated title index segment: " + file, e);
+        }
+    }
+
+    private static long stringSize(String value) {
+        return 4 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static long postingsSize(Map<String, Set<Long>> terms) {
+        return 4 + terms.entrySet().stream()
+            .mapToLong(entry -> stringSize(entry.getKey()) + 4 + 8L * entry.getValue().size())
+            .sum();
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putPostings(ByteBuffer buffer, Map<String, Set<Long>> terms) {
+        buffer.putInt(terms.size());
+        terms.forEach((term, ids) -> {
+            putString(buffer, term);
+            buffer.putInt(ids.size());
+            ids.forEach(buffer::putLong);
+        });
+    }
+
+    private static void getPostings(ByteBuffer buffer, Map<String, Set<Long>> terms) {
+        for (int i = buffer.getInt(); i > 0; i--) {
+            String term = getString(buffer);
+            int count = buffer.getInt();
+            Set<Long> ids = new HashSet<>(count * 2);
+            for (int j = 0; j < count; j++) {
+                ids.add(buffer.getLong());
+            }
+            terms.put(term, ids);
+        }
+    }
+}
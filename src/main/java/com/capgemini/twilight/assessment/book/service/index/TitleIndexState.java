@@ -0,0 +1,148 @@
+package com.capgemini.twilight.assessment.book.service.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The index proper: sorted term dictionaries, so a prefix is a range scan, over book titles and
+ * author names. Author terms point at authors rather than books, so renaming an author touches
+ * only its own terms. Not thread-safe; {@link TitleIndex} guards it.
+ */
+final class TitleIndexState {
+
+    static final double TITLE_WEIGHT = 2.0;
+    static final double AUTHOR_WEIGHT = 1.0;
+
+    final Map<Long, String> authorNames = new HashMap<>();
+    final Map<Long, String> bookTitles = new HashMap<>();
+    final Map<Long, Long> bookAuthors = new HashMap<>();
+    final Map<Long, Set<Long>> authorBooks = new HashMap<>();
+    final NavigableMap<String, Set<Long>> titleTerms = new TreeMap<>();
+    final NavigableMap<String, Set<Long>> authorTerms = new TreeMap<>();
+
+    void putAuthor(Long authorId, String name) {
+        removeAuthor(authorId);
+        authorNames.put(authorId, name);
+        TitleTokenizer.tokenize(name).forEach(term -> authorTerms.computeIfAbsent(term, t -> new HashSet<>()).add(authorId));
+    }
+
+    void removeAuthor(Long authorId) {
+        String previous = authorNames.remove(authorId);
+        TitleTokenizer.tokenize(previous).forEach(term -> removePosting(authorTerms, term, authorId));
+    }
+
+    void putBook(Long bookId, String title, Long authorId) {
+        removeBook(bookId);
+        bookTitles.put(bookId, title);
+        bookAuthors.put(bookId, authorId);
+        authorBooks.computeIfAbsent(authorId, id -> new HashSet<>()).add(bookId);
+        TitleTokenizer.tokenize(title).forEach(term -> titleTerms.computeIfAbsent(term, t -> new HashSet<>()).add(bookId));
+    }
+
+    void removeBook(Long bookId) {
+        if (!bookTitles.containsKey(bookId)) {
+            return;
+        }
+        String previous = bookTitles.remove(bookId);
+        Long authorId = bookAuthors.remove(bookId);
+        Set<Long> books = authorBooks.get(authorId);
+        if (books != null) {
+            books.remove(bookId);
+            if (books.isEmpty()) {
+                authorBooks.remove(authorId);
+            }
+        }
+        TitleTokenizer.tokenize(previous).forEach(term -> removePosting(titleTerms, term, bookId));
+    }
+
+    int bookCount() {
+        return bookTitles.size();
+    }
+
+    /**
+     * @return a copy of the books and authors, from which {@link Contents#index()} builds the same index
+     */
+    Contents contents() {
+        return new Contents(new HashMap<>(authorNames), new HashMap<>(bookTitles), new HashMap<>(bookAuthors));
+    }
+
+    /**
+     * Every query term must prefix a term of the title or of the author's name. A term scores its
+     * field weight times the share of the indexed term it covers, so "hobbit" beats "hob" and a title
+     * hit beats an author hit; a book's score is the sum over the query terms. Ties go to the lower id.
+     */
+    List<Long> search(Collection<String> queryTerms, int limit) {
+        Map<Long, Double> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Double> termScores = new HashMap<>();
+            prefixRange(titleTerms, queryTerm).forEach((term, bookIds) -> {
+                double score = TITLE_WEIGHT * coverage(queryTerm, term);
+                bookIds.forEach(bookId -> termScores.merge(bookId, score, Math::max));
+            });
+            prefixRange(authorTerms, queryTerm).forEach((term, authorIds) -> {
+                double score = AUTHOR_WEIGHT * coverage(queryTerm, term);
+                authorIds.forEach(authorId -> authorBooks.getOrDefault(authorId, Set.of())
+                    .forEach(bookId -> termScores.merge(bookId, score, Math::max)));
+            });
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((bookId, score) -> score + termScores.get(bookId));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (scores == null) {
+            return List.of();
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        return ranked.stream()
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    private static NavigableMap<String, Set<Long>> prefixRange(NavigableMap<String, Set<Long>> terms, String prefix) {
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static double coverage(String queryTerm, String term) {
+        return (double) queryTerm.length() / term.length();
+    }
+
+    private static void removePosting(Map<String, Set<Long>> terms, String term, Long id) {
+        Set<Long> postings = terms.get(term);
+        if (postings != null) {
+            postings.remove(id);
+            if (postings.isEmpty()) {
+                terms.remove(term);
+            }
+        }
+    }
+
+    /**
+     * The books and authors of an index without its terms, which are cheap to copy and rebuilt by
+     * {@link #index()}.
+     */
+    record Contents(Map<Long, String> authorNames, Map<Long, String> bookTitles, Map<Long, Long> bookAuthors) {
+
+        TitleIndexState index() {
+            TitleIndexState index = new TitleIndexState();
+            authorNames.forEach(index::putAuthor);
+            bookTitles.forEach((bookId, title) -> index.putBook(bookId, title, bookAuthors.get(bookId)));
+            return index;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.capgemini.twilight.assessment.book.service.leaderboard;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Bounded, ordered set of the best books for one {@link BookRanking}.
+ * <p>
+ * Invariant: the entries are always the true top {@code size()} ranked books of the table. A book that
+ * drops out of the board (deleted, or updated to rank below the last entry) can therefore shrink
+ * the board without making it wrong, and {@link #top(int)} reports when it no longer holds enough
+ * entries so the caller can reload it. Reads are lock-free; writes are serialized on the board.
+ */
+final class BookLeaderboard {
+
+    private final BookRanking ranking;
+    private final int capacity;
+    private final ConcurrentSkipListSet<BookView> entries;
+    private final Map<Long, BookView> entriesById = new HashMap<>();
+
+    /** True while the board holds every ranked book of the table, i.e. nothing ranks below the last entry unseen. */
+    private volatile boolean exhaustive;
+    private volatile boolean stale = true;
+    private volatile long version;
+
+    BookLeaderboard(BookRanking ranking, int capacity) {
+        this.ranking = ranking;
+        this.capacity = capacity;
+        this.entries = new ConcurrentSkipListSet<>(ranking.order());
+    }
+
+    BookRanking ranking() {
+        return ranking;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * @return the best {@code limit} books, or {@code null} if the board cannot answer without a reload
+     */
+    List<BookView> top(int limit) {
+        if (stale || (!exhaustive && entries.size() < limit)) {
+            return null;
+        }
+        return entries.stream().limit(limit).toList();
+    }
+
+    /**
+     * Replaces the entries with a freshly queried top list. If a change was applied while the query
+     * ran, the list may predate it, so the board stays stale and the next read reloads again.
+     */
+    synchronized void reload(List<BookView> top, long loadedAtVersion) {
+        entries.clear();
+        entriesById.clear();
+        top.forEach(this::add);
+        exhaustive = top.size() < capacity;
+        stale = version != loadedAtVersion;
+    }
+
+    synchronized void apply(BookView previous, BookView current) {
+        version++;
+        if (previous != null) {
+            BookView existing = entriesById.remove(previous.id());
+            if (existing != null) {
+                entries.remove(existing);
+            }
+        }
+        if (current != null && ranking.ranks(current) && qualifies(current)) {
+            add(current);
+            if (entries.size() > capacity) {
+                entriesById.remove(entries.pollLast().id());
+                exhaustive = false;
+            }
+        }
+    }
+
+    private boolean qualifies(BookView book) {
+        return exhaustive || (!entries.isEmpty() && ranking.order().compare(book, entries.last()) < 0);
+    }
+
+    private void add(BookView book) {
+        entries.add(book);
+        entriesById.put(book.id(), book);
+    }
+}
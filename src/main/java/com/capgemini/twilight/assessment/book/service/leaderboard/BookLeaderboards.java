@@ -0,0 +1,96 @@
+package com.capgemini.twilight.assessment.book.service.leaderboard;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process top-K boards for the single-extreme book searches. Boards are loaded at startup,
+ * updated from {@link BookChangedEvent}s once the write commits, and reloaded from the database when
+ * a board has shrunk below the requested size and on a fixed delay to pick up writes that bypassed
+ * the API. Until then the writing transaction reads its top lists from the database, so it sees its
+ * own changes while nobody else does.
+ */
+@Component
+public class BookLeaderboards {
+
+    private final BookRepository bookRepository;
+    private final Map<BookRanking, BookLeaderboard> boards = new EnumMap<>(BookRanking.class);
+
+    public BookLeaderboards(BookRepository bookRepository,
+                            @Value("${book.leaderboard.capacity:100}") int capacity) {
+        this.bookRepository = bookRepository;
+        for (BookRanking ranking : BookRanking.values()) {
+            boards.put(ranking, new BookLeaderboard(ranking, capacity));
+        }
+    }
+
+    public List<BookView> top(BookRanking ranking, int limit) {
+        BookLeaderboard board = boards.get(ranking);
+        if (limit < 1 || limit > board.capacity()) {
+            throw new InvalidRequestException("Limit must be between 1 and " + board.capacity());
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return board.ranking().loadTop(bookRepository, limit);
+        }
+        List<BookView> top = board.top(limit);
+        if (top != null) {
+            return top;
+        }
+        List<BookView> loaded = reload(board);
+        top = board.top(limit);
+        return top != null ? top : loaded.subList(0, Math.min(limit, loaded.size()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${book.leaderboard.refresh-interval:PT5M}", initialDelayString = "${book.leaderboard.refresh-interval:PT5M}")
+    public void reloadAll() {
+        boards.values().forEach(this::reload);
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(event);
+            return;
+        }
+        // marks the transaction as one the boards do not show yet
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(event);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BookLeaderboards.this);
+            }
+        });
+    }
+
+    private void apply(BookChangedEvent event) {
+        boards.values().forEach(board -> board.apply(event.previous(), event.current()));
+    }
+
+    private List<BookView> reload(BookLeaderboard board) {
+        long version = board.version();
+        List<BookView> loaded = board.ranking().loadTop(bookRepository, board.capacity());
+        board.reload(loaded, version);
+        return loaded;
+    }
+}
@@ -0,0 +1,64 @@
+package com.capgemini.twilight.assessment.book.service.leaderboard;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import org.springframework.data.domain.Limit;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * The orders a leaderboard can be kept in. Ties are broken by id so that every book has exactly one
+ * position, and each ranking knows the repository query that yields its top entries, which sorts
+ * exactly like the order. A book without the ranked value, such as an undated one for
+ * {@link #OLDEST}, may have no position at all; the query leaves it out as well.
+ */
+public enum BookRanking {
+
+    LONGEST(
+        Comparator.comparing(BookView::pages, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BookView::id),
+        book -> true,
+        BookRepository::findViewsOrderByPagesDesc
+    ),
+    OLDEST(
+        Comparator.comparing(BookView::publicationDate)
+            .thenComparing(BookView::id),
+        book -> book.publicationDate() != null,
+        BookRepository::findViewsOrderByPublicationDateAsc
+    ),
+    LAST_MODIFIED(
+        Comparator.comparing(BookView::lastModifiedDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(BookView::id, Comparator.reverseOrder()),
+        book -> true,
+        BookRepository::findViewsOrderByLastModifiedDateDesc
+    );
+
+    private final Comparator<BookView> order;
+    private final Predicate<BookView> ranked;
+    private final BiFunction<BookRepository, Limit, List<BookView>> topQuery;
+
+    BookRanking(Comparator<BookView> order, Predicate<BookView> ranked,
+                BiFunction<BookRepository, Limit, List<BookView>> topQuery) {
+        this.order = order;
+        this.ranked = ranked;
+        this.topQuery = topQuery;
+    }
+
+    Comparator<BookView> order() {
+        return order;
+    }
+
+    /**
+     * @return whether the book has a position in this ranking
+     */
+    boolean ranks(BookView book) {
+        return ranked.test(book);
+    }
+
+    List<BookView> loadTop(BookRepository repository, int count) {
+        return topQuery.apply(repository, Limit.of(count));
+    }
+}
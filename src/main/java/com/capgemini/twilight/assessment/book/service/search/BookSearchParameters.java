@@ -0,0 +1,27 @@
+package com.capgemini.twilight.assessment.book.service.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Request parameters of the book search; each strategy reads the ones it supports.
+ *
+ * @param fields the book properties the response will carry, empty for all of them
+ */
+public record BookSearchParameters(
+    String text,
+    LocalDate fromDate,
+    LocalDate toDate,
+    Integer minPages,
+    Integer maxPages,
+    Long authorId,
+    String titlePrefix,
+    String sort,
+    Sort.Direction direction,
+    Integer limit,
+    String cursor,
+    Set<String> fields
+) {
+}
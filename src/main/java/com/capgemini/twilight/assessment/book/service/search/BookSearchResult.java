@@ -0,0 +1,66 @@
+package com.capgemini.twilight.assessment.book.service.search;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.exception.ResourceNotFoundException;
+import com.capgemini.twilight.assessment.pagination.KeysetPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * What a {@link BookSearchStrategy} found: either one book or a list of books, the latter possibly
+ * continued by a keyset cursor.
+ */
+public sealed interface BookSearchResult {
+
+    ResponseEntity<?> toResponseEntity(String query);
+
+    /**
+     * @return the number of books found
+     */
+    int size();
+
+    static BookSearchResult single(BookView book) {
+        return new SingleBook(book);
+    }
+
+    static <T> BookSearchResult list(List<T> books) {
+        return new BookList<>(new KeysetPage<>(books, null));
+    }
+
+    static <T> BookSearchResult page(KeysetPage<T> page) {
+        return new BookList<>(page);
+    }
+
+    /**
+     * @param book the book found, null when there is none
+     */
+    record SingleBook(BookView book) implements BookSearchResult {
+
+        @Override
+        public ResponseEntity<BookView> toResponseEntity(String query) {
+            if (book == null) {
+                throw new ResourceNotFoundException("Book not found for query: " + query);
+            }
+            return ResponseEntity.ok(book);
+        }
+
+        @Override
+        public int size() {
+            return book == null ? 0 : 1;
+        }
+    }
+
+    record BookList<T>(KeysetPage<T> page) implements BookSearchResult {
+
+        @Override
+        public ResponseEntity<List<T>> toResponseEntity(String query) {
+            return page.toResponseEntity();
+        }
+
+        @Override
+        public int size() {
+            return page.items().size();
+        }
+    }
+}
@@ -1,27 +1,57 @@
 package com.capgemini.twilight.assessment.book.service.search;
 
 import com.capgemini.twilight.assessment.book.repository.BookRepository;
-import org.springframework.http.ResponseEntity;
+import com.capgemini.twilight.assessment.pagination.KeysetPage;
+import com.capgemini.twilight.assessment.pagination.PaginationProperties;
+import com.capgemini.twilight.assessment.pagination.PublicationDateCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.Set;
 
+/**
+ * Keyset pages of the books published in an optional date window, ordered by
+ * {@code (publicationDate, id)} in either direction. When the response only asks for those two
+ * fields the page is read from the composite index alone.
+ */
 @Component
 public class ByDateBookSearchStrategy implements BookSearchStrategy {
+
+    private static final Set<String> KEY_FIELDS = Set.of("id", "publicationDate");
+
+    private final PaginationProperties paginationProperties;
+
+    public ByDateBookSearchStrategy(PaginationProperties paginationProperties) {
+        this.paginationProperties = paginationProperties;
+    }
+
     @Override
-    public ResponseEntity<?> search(BookRepository repository, LocalDate fromDate, LocalDate toDate) {
-        if (fromDate != null && toDate != null) {
-            return ResponseEntity.ok(repository.findByPublicationDateBetween(fromDate, toDate));
-        } else if (fromDate != null) {
-            return ResponseEntity.ok(repository.findByPublicationDateGreaterThanEqual(fromDate));
-        } else if (toDate != null) {
-            return ResponseEntity.ok(repository.findByPublicationDateLessThanEqual(toDate));
+    public BookSearchResult search(BookRepository repository, BookSearchParameters parameters) {
+        int pageSize = paginationProperties.resolvePageSize(parameters.limit());
+        PublicationDateCursor after = PublicationDateCursor.decode(parameters.cursor());
+        LocalDate afterDate = after != null ? after.publicationDate() : null;
+        Long afterId = after != null ? after.id() : null;
+        LocalDate fromDate = parameters.fromDate();
+        LocalDate toDate = parameters.toDate();
+        Limit limit = Limit.of(pageSize + 1);
+        boolean descending = parameters.direction() == Sort.Direction.DESC;
+
+        if (!parameters.fields().isEmpty() && KEY_FIELDS.containsAll(parameters.fields())) {
+            return BookSearchResult.page(KeysetPage.of(descending
+                    ? repository.findDateKeyPageDesc(fromDate, toDate, afterDate, afterId, limit)
+                    : repository.findDateKeyPageAsc(fromDate, toDate, afterDate, afterId, limit),
+                pageSize, key -> new PublicationDateCursor(key.publicationDate(), key.id())));
         }
-        return ResponseEntity.ok(repository.findAll());
+        return BookSearchResult.page(KeysetPage.of(descending
+                ? repository.findViewPageByPublicationDateDesc(fromDate, toDate, afterDate, afterId, limit)
+                : repository.findViewPageByPublicationDateAsc(fromDate, toDate, afterDate, afterId, limit),
+            pageSize, book -> new PublicationDateCursor(book.publicationDate(), book.id())));
     }
 
     @Override
     public String getQueryName() {
         return "by-date";
     }
-}
\ No newline at end of file
+}
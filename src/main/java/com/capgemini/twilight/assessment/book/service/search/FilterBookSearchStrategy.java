@@ -0,0 +1,53 @@
+package com.capgemini.twilight.assessment.book.service.search;
+
+import com.capgemini.twilight.assessment.book.repository.BookCriteria;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.repository.BookSortField;
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import com.capgemini.twilight.assessment.pagination.PaginationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Any combination of page range, publication date range, author and title prefix, in the requested
+ * order, as one {@link BookCriteria} query.
+ */
+@Component
+public class FilterBookSearchStrategy implements BookSearchStrategy {
+
+    private final PaginationProperties paginationProperties;
+
+    public FilterBookSearchStrategy(PaginationProperties paginationProperties) {
+        this.paginationProperties = paginationProperties;
+    }
+
+    @Override
+    public BookSearchResult search(BookRepository repository, BookSearchParameters parameters) {
+        if (parameters.minPages() != null && parameters.maxPages() != null
+            && parameters.minPages() > parameters.maxPages()) {
+            throw new InvalidRequestException("minPages must not be greater than maxPages");
+        }
+        if (parameters.fromDate() != null && parameters.toDate() != null
+            && parameters.fromDate().isAfter(parameters.toDate())) {
+            throw new InvalidRequestException("fromDate must not be after toDate");
+        }
+        String titlePrefix = parameters.titlePrefix();
+        BookSortField sort = parameters.sort() != null ? BookSortField.fromQueryName(parameters.sort()) : BookSortField.ID;
+
+        return BookSearchResult.list(repository.findViews(new BookCriteria(
+            parameters.minPages(),
+            parameters.maxPages(),
+            parameters.fromDate(),
+            parameters.toDate(),
+            parameters.authorId(),
+            titlePrefix != null && !titlePrefix.isBlank() ? titlePrefix : null,
+            sort,
+            parameters.direction(),
+            paginationProperties.resolvePageSize(parameters.limit())
+        )));
+    }
+
+    @Override
+    public String getQueryName() {
+        return "filter";
+    }
+}
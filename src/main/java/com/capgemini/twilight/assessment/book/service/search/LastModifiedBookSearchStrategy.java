@@ -1,18 +1,14 @@
 package com.capgemini.twilight.assessment.book.service.search;
 
-import com.capgemini.twilight.assessment.book.repository.BookRepository;
-import org.springframework.http.ResponseEntity;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookLeaderboards;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookRanking;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-
 @Component
-public class LastModifiedBookSearchStrategy implements BookSearchStrategy {
-    @Override
-    public ResponseEntity<?> search(BookRepository repository, LocalDate fromDate, LocalDate toDate) {
-        return repository.findTopByOrderByLastModifiedDateDesc()
-            .map(ResponseEntity::ok)
-            .orElse(ResponseEntity.notFound().build());
+public class LastModifiedBookSearchStrategy extends LeaderboardBookSearchStrategy {
+
+    public LastModifiedBookSearchStrategy(BookLeaderboards leaderboards) {
+        super(leaderboards, BookRanking.LAST_MODIFIED);
     }
 
     @Override
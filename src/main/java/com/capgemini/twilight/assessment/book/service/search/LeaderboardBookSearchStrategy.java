@@ -0,0 +1,28 @@
+package com.capgemini.twilight.assessment.book.service.search;
+
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookLeaderboards;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookRanking;
+
+/**
+ * Answers from an in-memory {@link BookLeaderboards} board instead of the database. Without a
+ * {@code limit} the single best book is returned, with one the best {@code limit} books.
+ */
+abstract class LeaderboardBookSearchStrategy implements BookSearchStrategy {
+
+    private final BookLeaderboards leaderboards;
+    private final BookRanking ranking;
+
+    protected LeaderboardBookSearchStrategy(BookLeaderboards leaderboards, BookRanking ranking) {
+        this.leaderboards = leaderboards;
+        this.ranking = ranking;
+    }
+
+    @Override
+    public BookSearchResult search(BookRepository repository, BookSearchParameters parameters) {
+        if (parameters.limit() == null) {
+            return BookSearchResult.single(leaderboards.top(ranking, 1).stream().findFirst().orElse(null));
+        }
+        return BookSearchResult.list(leaderboards.top(ranking, parameters.limit()));
+    }
+}
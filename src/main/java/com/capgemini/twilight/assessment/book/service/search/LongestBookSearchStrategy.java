@@ -1,15 +1,14 @@
 package com.capgemini.twilight.assessment.book.service.search;
 
-import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookLeaderboards;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookRanking;
 import org.springframework.stereotype.Component;
-import java.time.LocalDate;
 
 @Component
-public class LongestBookSearchStrategy implements BookSearchStrategy {
+public class LongestBookSearchStrategy extends LeaderboardBookSearchStrategy {
 
-    @Override
-    public Object search(BookRepository repository, LocalDate fromDate, LocalDate toDate) {
-        return repository.findTopByOrderByPagesDesc();
+    public LongestBookSearchStrategy(BookLeaderboards leaderboards) {
+        super(leaderboards, BookRanking.LONGEST);
     }
 
     @Override
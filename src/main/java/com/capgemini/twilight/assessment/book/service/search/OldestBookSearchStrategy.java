@@ -1,15 +1,14 @@
 package com.capgemini.twilight.assessment.book.service.search;
 
-import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookLeaderboards;
+import com.capgemini.twilight.assessment.book.service.leaderboard.BookRanking;
 import org.springframework.stereotype.Component;
-import java.time.LocalDate;
 
 @Component
-public class OldestBookSearchStrategy implements BookSearchStrategy {
+public class OldestBookSearchStrategy extends LeaderboardBookSearchStrategy {
 
-    @Override
-    public Object search(BookRepository repository, LocalDate fromDate, LocalDate toDate) {
-        return repository.findTopByOrderByPublicationDateAsc();
+    public OldestBookSearchStrategy(BookLeaderboards leaderboards) {
+        super(leaderboards, BookRanking.OLDEST);
     }
 
     @Override
@@ -0,0 +1,62 @@
+package com.capgemini.twilight.assessment.book.service.search;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.book.service.index.TitleIndex;
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks books with the in-process {@link TitleIndex} and loads only the winners, by id, keeping the
+ * index's order.
+ */
+@Component
+public class TitleBookSearchStrategy implements BookSearchStrategy {
+
+    private final TitleIndex titleIndex;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public TitleBookSearchStrategy(TitleIndex titleIndex,
+                                   @Value("${book.title-index.default-limit:20}") int defaultLimit,
+                                   @Value("${book.title-index.max-limit:100}") int maxLimit) {
+        this.titleIndex = titleIndex;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public BookSearchResult search(BookRepository repository, BookSearchParameters parameters) {
+        String text = parameters.text();
+        if (text == null || text.isBlank()) {
+            throw new InvalidRequestException("A 'title' search needs a 'text' parameter");
+        }
+        int resultLimit = parameters.limit() != null ? parameters.limit() : defaultLimit;
+        if (resultLimit < 1 || resultLimit > maxLimit) {
+            throw new InvalidRequestException("Limit must be between 1 and " + maxLimit);
+        }
+
+        List<Long> ranked = titleIndex.search(text, resultLimit);
+        if (ranked.isEmpty()) {
+            return BookSearchResult.list(List.of());
+        }
+        Map<Long, BookView> books = repository.findViewsByIdIn(ranked).stream()
+            .collect(Collectors.toMap(BookView::id, Function.identity()));
+        return BookSearchResult.list(ranked.stream()
+            .map(books::get)
+            .filter(Objects::nonNull)
+            .toList());
+    }
+
+    @Override
+    public String getQueryName() {
+        return "title";
+    }
+}
@@ -0,0 +1,27 @@
+package com.capgemini.twilight.assessment.catalog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * @param importFile          NDJSON (or gzipped NDJSON) file to import at startup, after which the application exits
+ * @param importId            id of that import, the file name by default; reusing it resumes the import
+ * @param exportFile          file to export the catalog to at startup, gzipped if the name ends in {@code .gz}
+ * @param chunkSize           input lines per transaction and per checkpoint
+ * @param workers             threads inserting chunks
+ * @param queueCapacity       chunks read ahead of the ones committed, those being inserted included
+ * @param reportedRejections  rejected lines listed in the report of a run, the others are only counted
+ */
+@ConfigurationProperties(prefix = "catalog")
+public record CatalogProperties(
+    Path importFile,
+    String importId,
+    Path exportFile,
+    @DefaultValue("1000") int chunkSize,
+    @DefaultValue("4") int workers,
+    @DefaultValue("8") int queueCapacity,
+    @DefaultValue("100") int reportedRejections
+) {
+}
@@ -0,0 +1,66 @@
+package com.capgemini.twilight.assessment.catalog.controller;
+
+import com.capgemini.twilight.assessment.catalog.dto.ImportReport;
+import com.capgemini.twilight.assessment.catalog.service.CatalogExporter;
+import com.capgemini.twilight.assessment.catalog.service.CatalogImporter;
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+
+@Tag(name = "Catalog", description = "Bulk import and export of all authors and books as NDJSON")
+@RestController
+@RequestMapping("/catalog")
+public class CatalogController {
+
+    private static final int MAX_IMPORT_ID_LENGTH = 100;
+
+    private final CatalogImporter catalogImporter;
+    private final CatalogExporter catalogExporter;
+
+    public CatalogController(CatalogImporter catalogImporter, CatalogExporter catalogExporter) {
+        this.catalogImporter = catalogImporter;
+        this.catalogExporter = catalogExporter;
+    }
+
+    @Operation(
+        summary = "Import authors and books from NDJSON",
+        description = "One author or book per line, as written by the export; the body may be gzipped. Authors get new "
+            + "ids and books refer to an author above them by its id in the input. Progress is checkpointed per chunk: "
+            + "sending the same input with the same id again resumes an interrupted import."
+    )
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportReport importCatalog(
+        @Parameter(description = "Id of the import, chosen by the client.", required = true, example = "catalog-2024-05")
+        @RequestParam("id") String importId,
+        InputStream body
+    ) {
+        if (importId.isBlank() || importId.length() > MAX_IMPORT_ID_LENGTH) {
+            throw new InvalidRequestException("Import id must have between 1 and " + MAX_IMPORT_ID_LENGTH + " characters");
+        }
+        return catalogImporter.importCatalog(importId, body);
+    }
+
+    @Operation(
+        summary = "Export all authors and books as NDJSON",
+        description = "Authors first, then books, in the format the import reads. Streamed from a database cursor; "
+            + "send 'Accept-Encoding: gzip' to have it compressed."
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCatalog() {
+        StreamingResponseBody body = catalogExporter::export;
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
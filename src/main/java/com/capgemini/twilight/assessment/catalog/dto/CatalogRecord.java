@@ -0,0 +1,73 @@
+package com.capgemini.twilight.assessment.catalog.dto;
+
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * One line of the catalog NDJSON format, an author or a book depending on {@code type}. Ids are the
+ * ones of the exporting database; on import, authors get new ids and {@code authorId} of a book is
+ * resolved against the authors imported under the same import id, so authors come before their books.
+ * <pre>
+ * {"type":"author","id":1,"name":"J.R.R. Tolkien"}
+ * {"type":"book","id":7,"authorId":1,"title":"The Hobbit","pages":310,"publicationDate":"1937-09-21"}
+ * </pre>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CatalogRecord(
+    String type,
+    Long id,
+    String name,
+    Long authorId,
+    String title,
+    Integer pages,
+    LocalDate publicationDate
+) {
+
+    public static final String AUTHOR = "author";
+    public static final String BOOK = "book";
+
+    public static CatalogRecord author(AuthorSummary author) {
+        return new CatalogRecord(AUTHOR, author.id(), author.name(), null, null, null, null);
+    }
+
+    public static CatalogRecord book(BookView book) {
+        return new CatalogRecord(BOOK, book.id(), null, book.authorId(), book.title(), book.pages(),
+            book.publicationDate());
+    }
+
+    @JsonIgnore
+    public boolean isAuthor() {
+        return AUTHOR.equals(type);
+    }
+
+    @JsonIgnore
+    public boolean isBook() {
+        return BOOK.equals(type);
+    }
+
+    /**
+     * @return why the record cannot be imported, or {@code null} if it can
+     */
+    public String validate() {
+        if (isAuthor()) {
+            if (id == null) {
+                return "author id is required";
+            }
+            return name == null || name.isBlank() ? "author name is required" : null;
+        }
+        if (isBook()) {
+            if (authorId == null) {
+                return "authorId is required";
+            }
+            if (title == null || title.isBlank()) {
+                return "title is required";
+            }
+            return pages != null && pages < 0 ? "pages must not be negative" : null;
+        }
+        return "type must be '" + AUTHOR + "' or '" + BOOK + "'";
+    }
+}
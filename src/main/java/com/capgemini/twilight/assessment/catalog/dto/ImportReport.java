@@ -0,0 +1,27 @@
+package com.capgemini.twilight.assessment.catalog.dto;
+
+import com.capgemini.twilight.assessment.catalog.model.ImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Progress of a catalog import, counted over every run with the same id")
+public record ImportReport(
+    @Schema(description = "Id the import was started with; rerunning it with the same input resumes it.", example = "catalog-2024-05")
+    String id,
+    @Schema(description = "COMPLETED once the whole input was read; RUNNING or FAILED imports can be resumed.")
+    ImportStatus status,
+    @Schema(example = "1200")
+    long authorsImported,
+    @Schema(example = "48000")
+    long booksImported,
+    @Schema(description = "Lines that were skipped as malformed, invalid or referring to an author not in the import.", example = "3")
+    long rejected,
+    @Schema(description = "Why lines were rejected during this run, up to catalog.reported-rejections of them, in no particular order.")
+    List<String> rejections
+) {
+
+    public static ImportReport of(String id, ImportStatus status, ImportTotals totals, List<String> rejections) {
+        return new ImportReport(id, status, totals.authorsImported(), totals.booksImported(), totals.rejected(), rejections);
+    }
+}
@@ -0,0 +1,4 @@
+package com.capgemini.twilight.assessment.catalog.dto;
+
+public record ImportTotals(long authorsImported, long booksImported, long rejected) {
+}
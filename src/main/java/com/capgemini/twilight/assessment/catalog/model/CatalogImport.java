@@ -0,0 +1,44 @@
+package com.capgemini.twilight.assessment.catalog.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * One run of {@code CatalogImporter}, identified by the id its caller chose so that a rerun with the
+ * same id resumes it. The chunk size is fixed by the first run: chunks are ranges of input lines, and
+ * the completed ones are only recognised again if the input is cut the same way.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_import")
+public class CatalogImport {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false)
+    private int chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ImportStatus status;
+
+    @CreationTimestamp
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    public CatalogImport(String id, int chunkSize) {
+        this.id = id;
+        this.chunkSize = chunkSize;
+        this.status = ImportStatus.RUNNING;
+    }
+}
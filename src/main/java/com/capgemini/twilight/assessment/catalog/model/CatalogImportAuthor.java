@@ -0,0 +1,45 @@
+package com.capgemini.twilight.assessment.catalog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Maps the id an author has in the imported file to the id it was given here, so that books in
+ * later chunks, or in a resumed run, can still be attached to it.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_import_author")
+@IdClass(CatalogImportAuthor.Key.class)
+public class CatalogImportAuthor {
+
+    @Id
+    @Column(length = 100)
+    private String importId;
+
+    @Id
+    private Long sourceId;
+
+    @Column(nullable = false)
+    private Long authorId;
+
+    public CatalogImportAuthor(String importId, Long sourceId, Long authorId) {
+        this.importId = importId;
+        this.sourceId = sourceId;
+        this.authorId = authorId;
+    }
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String importId;
+        private Long sourceId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.capgemini.twilight.assessment.catalog.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Checkpoint of an import, written in the transaction that inserts the chunk's rows, so a chunk is
+ * either recorded and fully imported or neither.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "catalog_import_chunk")
+@IdClass(CatalogImportChunk.Key.class)
+public class CatalogImportChunk {
+
+    @Id
+    @Column(length = 100)
+    private String importId;
+
+    @Id
+    private int chunkIndex;
+
+    private int authorsImported;
+
+    private int booksImported;
+
+    /** Lines of the chunk that were skipped as malformed, invalid or referring to an unknown author. */
+    private int rejected;
+
+    public CatalogImportChunk(String importId, int chunkIndex, int authorsImported, int booksImported, int rejected) {
+        this.importId = importId;
+        this.chunkIndex = chunkIndex;
+        this.authorsImported = authorsImported;
+        this.booksImported = booksImported;
+        this.rejected = rejected;
+    }
+
+    @EqualsAndHashCode
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String importId;
+        private int chunkIndex;
+    }
+}
@@ -0,0 +1,7 @@
+package com.capgemini.twilight.assessment.catalog.model;
+
+public enum ImportStatus {
+    RUNNING,
+    FAILED,
+    COMPLETED
+}
@@ -0,0 +1,32 @@
+package com.capgemini.twilight.assessment.catalog.repository;
+
+import com.capgemini.twilight.assessment.catalog.dto.ImportTotals;
+import com.capgemini.twilight.assessment.catalog.model.CatalogImport;
+import com.capgemini.twilight.assessment.catalog.model.CatalogImportAuthor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@Transactional(readOnly = true)
+public interface CatalogImportRepository extends JpaRepository<CatalogImport, String> {
+
+    @Query("SELECT c.chunkIndex FROM CatalogImportChunk c WHERE c.importId = :importId")
+    Set<Integer> findCompletedChunks(@Param("importId") String importId);
+
+    @Query("""
+        SELECT new com.capgemini.twilight.assessment.catalog.dto.ImportTotals(
+            COALESCE(SUM(c.authorsImported), 0), COALESCE(SUM(c.booksImported), 0), COALESCE(SUM(c.rejected), 0))
+        FROM CatalogImportChunk c WHERE c.importId = :importId""")
+    ImportTotals findTotals(@Param("importId") String importId);
+
+    @Query("SELECT a FROM CatalogImportAuthor a WHERE a.importId = :importId AND a.sourceId IN :sourceIds")
+    List<CatalogImportAuthor> findAuthors(@Param("importId") String importId,
+                                          @Param("sourceIds") Collection<Long> sourceIds);
+}
@@ -0,0 +1,72 @@
+package com.capgemini.twilight.assessment.catalog.service;
+
+import com.capgemini.twilight.assessment.catalog.CatalogProperties;
+import com.capgemini.twilight.assessment.catalog.dto.ImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs a catalog import or export given on the command line, e.g.
+ * {@code --catalog.import-file=catalog.ndjson.gz --spring.main.web-application-type=none}, and exits
+ * once it is done. A failed import ends the startup with an error and is resumed by starting the
+ * same command again.
+ */
+@Component
+public class CatalogCommandLineRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCommandLineRunner.class);
+
+    private final CatalogProperties properties;
+    private final CatalogImporter catalogImporter;
+    private final CatalogExporter catalogExporter;
+    private final ConfigurableApplicationContext context;
+
+    public CatalogCommandLineRunner(CatalogProperties properties, CatalogImporter catalogImporter,
+                                    CatalogExporter catalogExporter, ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.catalogImporter = catalogImporter;
+        this.catalogExporter = catalogExporter;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (properties.importFile() == null && properties.exportFile() == null) {
+            return;
+        }
+        if (properties.importFile() != null) {
+            String importId = properties.importId() != null
+                ? properties.importId()
+                : properties.importFile().getFileName().toString();
+            try (InputStream input = Files.newInputStream(properties.importFile())) {
+                ImportReport report = catalogImporter.importCatalog(importId, input);
+                report.rejections().forEach(rejection -> log.warn("Catalog import {} rejected {}", importId, rejection));
+            }
+        }
+        if (properties.exportFile() != null) {
+            try (OutputStream output = open(properties.exportFile())) {
+                long written = catalogExporter.export(output);
+                log.info("Exported {} catalog records to {}", written, properties.exportFile());
+            }
+        }
+        System.exit(SpringApplication.exit(context));
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        OutputStream output = new BufferedOutputStream(Files.newOutputStream(file));
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPOutputStream(output) : output;
+    }
+}
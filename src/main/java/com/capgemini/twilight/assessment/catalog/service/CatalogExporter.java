@@ -0,0 +1,76 @@
+package com.capgemini.twilight.assessment.catalog.service;
+
+import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.catalog.dto.CatalogRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole catalog in the {@link CatalogRecord} NDJSON format that {@link CatalogImporter}
+ * reads: every author, then every book, each in id order.
+ * <p>
+ * Both come from the streaming projection queries, which MySQL sends row by row, read one after the
+ * other as a connection can only read one such result at a time. Memory
+ * use does not depend on the size of the tables, and as both run in one read-only transaction, MySQL's
+ * repeatable read gives the books the same snapshot as the authors they refer to.
+ */
+@Service
+public class CatalogExporter {
+
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final ObjectWriter objectWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CatalogExporter(AuthorRepository authorRepository, BookRepository bookRepository,
+                           ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.objectWriter = objectMapper.writer().withRootValueSeparator("\n");
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return the number of records written
+     */
+    public long export(OutputStream outputStream) {
+        return readOnlyTransaction.execute(status -> {
+            try (SequenceWriter writer = objectWriter.writeValues(outputStream)) {
+                long written = write(writer, authorRepository::streamAllSummaries, CatalogRecord::author)
+                    + write(writer, bookRepository::streamAllViews, CatalogRecord::book);
+                writer.flush();
+                outputStream.write('\n');
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static <T> long write(SequenceWriter writer, Supplier<Stream<T>> source,
+                                  Function<T, CatalogRecord> toRecord) throws IOException {
+        long written = 0;
+        try (Stream<T> rows = source.get()) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(toRecord.apply(iterator.next()));
+                written++;
+            }
+        }
+        return written;
+    }
+}
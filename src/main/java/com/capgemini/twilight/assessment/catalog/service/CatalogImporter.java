@@ -0,0 +1,374 @@
+package com.capgemini.twilight.assessment.catalog.service;
+
+import com.capgemini.twilight.assessment.author.event.AuthorChangedEvent;
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.capgemini.twilight.assessment.book.model.Book;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.catalog.CatalogProperties;
+import com.capgemini.twilight.assessment.catalog.dto.CatalogRecord;
+import com.capgemini.twilight.assessment.catalog.dto.ImportReport;
+import com.capgemini.twilight.assessment.catalog.model.CatalogImport;
+import com.capgemini.twilight.assessment.catalog.model.CatalogImportAuthor;
+import com.capgemini.twilight.assessment.catalog.model.CatalogImportChunk;
+import com.capgemini.twilight.assessment.catalog.model.ImportStatus;
+import com.capgemini.twilight.assessment.catalog.repository.CatalogImportRepository;
+import com.capgemini.twilight.assessment.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports a catalog in the {@link CatalogRecord} NDJSON format while holding only a few chunks of it
+ * in memory.
+ * <p>
+ * The calling thread reads, parses and validates the input and cuts it into chunks of
+ * {@code catalog.chunk-size} lines, which {@code catalog.workers} threads insert in JDBC batches, one
+ * transaction per chunk. Reading stays at most {@code catalog.queue-capacity} chunks ahead of the
+ * commits, so a slow database slows the reading down rather than filling the heap. A chunk with books
+ * waits until every earlier chunk with authors has committed, so a book may refer to any author above it.
+ * <p>
+ * The chunk transaction also records the chunk as done. That is the checkpoint: running an import
+ * again with the same id and input skips the recorded chunks without parsing them and imports the
+ * rest, whether the earlier run failed, was interrupted or is still marked as running after a crash.
+ */
+@Service
+public class CatalogImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogImporter.class);
+
+    private final CatalogImportRepository importRepository;
+    private final AuthorRepository authorRepository;
+    private final BookRepository bookRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final CatalogProperties properties;
+    private final TransactionTemplate transaction;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public CatalogImporter(CatalogImportRepository importRepository, AuthorRepository authorRepository,
+                           BookRepository bookRepository, EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher, ObjectMapper objectMapper,
+                           CatalogProperties properties, PlatformTransactionManager transactionManager) {
+        this.importRepository = importRepository;
+        this.authorRepository = authorRepository;
+        this.bookRepository = bookRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports {@code input}, plain or gzipped NDJSON, under {@code importId}, or resumes the import with
+     * that id. An import that already completed is not repeated.
+     */
+    public ImportReport importCatalog(String importId, InputStream input) {
+        if (!running.add(importId)) {
+            throw new ConflictException("Catalog import " + importId + " is already running");
+        }
+        try {
+            CatalogImport catalogImport = transaction.execute(status -> start(importId));
+            if (catalogImport.getStatus() == ImportStatus.COMPLETED) {
+                return report(catalogImport, List.of());
+            }
+            Run run = new Run(catalogImport, importRepository.findCompletedChunks(importId));
+            try {
+                run.execute(decompressIfGzipped(input));
+            } catch (IOException e) {
+                finish(importId, ImportStatus.FAILED);
+                throw new UncheckedIOException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finish(importId, ImportStatus.FAILED);
+                throw new IllegalStateException("Catalog import " + importId + " was interrupted", e);
+            } catch (RuntimeException e) {
+                finish(importId, ImportStatus.FAILED);
+                throw e;
+            }
+            ImportReport report = report(finish(importId, ImportStatus.COMPLETED), run.rejections);
+            log.info("Catalog import {} completed: {} authors, {} books, {} rejected lines",
+                importId, report.authorsImported(), report.booksImported(), report.rejected());
+            return report;
+        } finally {
+            running.remove(importId);
+        }
+    }
+
+    private CatalogImport start(String importId) {
+        CatalogImport catalogImport = importRepository.findById(importId).orElseGet(() -> {
+            CatalogImport created = new CatalogImport(importId, properties.chunkSize());
+            entityManager.persist(created);
+            return created;
+        });
+        if (catalogImport.getStatus() == ImportStatus.FAILED) {
+            catalogImport.setStatus(ImportStatus.RUNNING);
+        }
+        return catalogImport;
+    }
+
+    private CatalogImport finish(String importId, ImportStatus status) {
+        return transaction.execute(transactionStatus -> {
+            CatalogImport catalogImport = importRepository.findById(importId).orElseThrow();
+            catalogImport.setStatus(status);
+            if (status == ImportStatus.COMPLETED) {
+                catalogImport.setFinishedAt(Instant.now());
+            }
+            return catalogImport;
+        });
+    }
+
+    private ImportReport report(CatalogImport catalogImport, List<String> rejections) {
+        return ImportReport.of(catalogImport.getId(), catalogImport.getStatus(),
+            importRepository.findTotals(catalogImport.getId()), rejections);
+    }
+
+    private static InputStream decompressIfGzipped(InputStream input) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input);
+        buffered.mark(2);
+        int magic = buffered.read() | buffered.read() << 8;
+        buffered.reset();
+        return magic == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(buffered) : buffered;
+    }
+
+    private static Set<Long> sourceIds(List<Line> lines, Function<CatalogRecord, Long> id) {
+        return lines.stream().map(line -> id.apply(line.record())).collect(Collectors.toSet());
+    }
+
+    private record Line(long number, CatalogRecord record) {
+    }
+
+    /**
+     * Lines {@code index * chunkSize + 1} up to {@code (index + 1) * chunkSize} of the input, valid
+     * authors and books separated; handed from the reading thread to one worker.
+     */
+    private static final class Chunk {
+
+        private final int index;
+        private final List<Line> authors = new ArrayList<>();
+        private final List<Line> books = new ArrayList<>();
+        private int rejected;
+
+        private Chunk(int index) {
+            this.index = index;
+        }
+    }
+
+    private final class Run {
+
+        private final String importId;
+        private final int chunkSize;
+        private final Set<Integer> completedChunks;
+        private final List<String> rejections = new ArrayList<>();
+        private final int queueCapacity = properties.queueCapacity();
+        private final Semaphore readAhead = new Semaphore(queueCapacity);
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        /** Whether a chunk with authors was submitted since the last time all chunks were committed. */
+        private boolean authorsPending;
+
+        private Run(CatalogImport catalogImport, Set<Integer> completedChunks) {
+            this.importId = catalogImport.getId();
+            this.chunkSize = catalogImport.getChunkSize();
+            this.completedChunks = completedChunks;
+        }
+
+        private void execute(InputStream input) throws IOException, InterruptedException {
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(properties.workers(), task -> {
+                Thread thread = new Thread(task, "catalog-import-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                Chunk chunk = null;
+                String line;
+                for (long read = 0; failure.get() == null && (line = reader.readLine()) != null; read++) {
+                    if (read % chunkSize == 0) {
+                        submit(chunk, workers);
+                        int index = Math.toIntExact(read / chunkSize);
+                        chunk = completedChunks.contains(index) ? null : new Chunk(index);
+                    }
+                    if (chunk != null) {
+                        parse(chunk, read + 1, line);
+                    }
+                }
+                submit(chunk, workers);
+            } finally {
+                try {
+                    awaitSubmitted();
+                } finally {
+                    workers.shutdown();
+                }
+            }
+            RuntimeException e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+
+        private void parse(Chunk chunk, long number, String line) {
+            if (line.isBlank()) {
+                return;
+            }
+            CatalogRecord record;
+            try {
+                record = objectMapper.readValue(line, CatalogRecord.class);
+            } catch (JsonProcessingException e) {
+                reject(chunk, number, "malformed: " + e.getOriginalMessage());
+                return;
+            }
+            String problem = record == null ? "not an object" : record.validate();
+            if (problem != null) {
+                reject(chunk, number, problem);
+            } else {
+                (record.isAuthor() ? chunk.authors : chunk.books).add(new Line(number, record));
+            }
+        }
+
+        private void reject(Chunk chunk, long number, String reason) {
+            chunk.rejected++;
+            synchronized (rejections) {
+                if (rejections.size() < properties.reportedRejections()) {
+                    rejections.add("line " + number + ": " + reason);
+                }
+            }
+        }
+
+        private void submit(Chunk chunk, ExecutorService workers) throws InterruptedException {
+            if (chunk == null || failure.get() != null) {
+                return;
+            }
+            if (authorsPending && !chunk.books.isEmpty()) {
+                awaitSubmitted();
+                readAhead.release(queueCapacity);
+                authorsPending = false;
+            }
+            readAhead.acquire();
+            authorsPending |= !chunk.authors.isEmpty();
+            workers.execute(() -> {
+                try {
+                    transaction.executeWithoutResult(status -> write(chunk));
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, new IllegalStateException("Catalog import " + importId
+                        + " failed at chunk " + chunk.index + "; run it again with the same id to resume", e));
+                } finally {
+                    readAhead.release();
+                }
+            });
+        }
+
+        private void awaitSubmitted() throws InterruptedException {
+            readAhead.acquire(queueCapacity);
+        }
+
+        private void write(Chunk chunk) {
+            int authors = insertAuthors(chunk);
+            int books = insertBooks(chunk);
+            entityManager.persist(new CatalogImportChunk(importId, chunk.index, authors, books, chunk.rejected));
+        }
+
+        /**
+         * Inserts the chunk's authors with new ids and records which id each had in the input. An input
+         * id that was already imported under this import id is rejected.
+         */
+        private int insertAuthors(Chunk chunk) {
+            if (chunk.authors.isEmpty()) {
+                return 0;
+            }
+            Set<Long> sourceIds = importRepository.findAuthors(importId, sourceIds(chunk.authors, CatalogRecord::id))
+                .stream()
+                .map(CatalogImportAuthor::getSourceId)
+                .collect(Collectors.toCollection(HashSet::new));
+            List<Line> accepted = new ArrayList<>(chunk.authors.size());
+            List<Author> authors = new ArrayList<>(chunk.authors.size());
+            for (Line line : chunk.authors) {
+                if (!sourceIds.add(line.record().id())) {
+                    reject(chunk, line.number(), "author " + line.record().id() + " appears more than once");
+                    continue;
+                }
+                Author author = new Author();
+                author.setName(line.record().name());
+                accepted.add(line);
+                authors.add(author);
+            }
+
+            List<Author> savedAuthors = authorRepository.saveAllAndFlush(authors);
+            for (int i = 0; i < savedAuthors.size(); i++) {
+                Author savedAuthor = savedAuthors.get(i);
+                entityManager.persist(new CatalogImportAuthor(importId, accepted.get(i).record().id(), savedAuthor.getId()));
+                eventPublisher.publishEvent(AuthorChangedEvent.created(savedAuthor.getId(), savedAuthor.getName()));
+            }
+            return savedAuthors.size();
+        }
+
+        /**
+         * Inserts the chunk's books under the authors their {@code authorId} was mapped to, resolved
+         * with a single IN query, and moves each author's book count once.
+         */
+        private int insertBooks(Chunk chunk) {
+            if (chunk.books.isEmpty()) {
+                return 0;
+            }
+            Map<Long, Long> authorIds = importRepository.findAuthors(importId, sourceIds(chunk.books, CatalogRecord::authorId))
+                .stream()
+                .collect(Collectors.toMap(CatalogImportAuthor::getSourceId, CatalogImportAuthor::getAuthorId));
+            List<Book> books = new ArrayList<>(chunk.books.size());
+            for (Line line : chunk.books) {
+                CatalogRecord record = line.record();
+                Long authorId = authorIds.get(record.authorId());
+                if (authorId == null) {
+                    reject(chunk, line.number(), "author " + record.authorId() + " is not part of the import");
+                    continue;
+                }
+                Book book = new Book();
+                book.setTitle(record.title());
+                book.setPages(record.pages());
+                book.setPublicationDate(record.publicationDate());
+                book.setAuthor(entityManager.getReference(Author.class, authorId));
+                books.add(book);
+            }
+
+            List<Book> savedBooks = bookRepository.saveAllAndFlush(books);
+            savedBooks.stream()
+                .collect(Collectors.groupingBy(book -> book.getAuthor().getId(), Collectors.counting()))
+                .forEach(authorRepository::adjustBookCount);
+            for (Book savedBook : savedBooks) {
+                eventPublisher.publishEvent(BookChangedEvent.created(BookView.from(savedBook)));
+            }
+            return savedBooks.size();
+        }
+    }
+}
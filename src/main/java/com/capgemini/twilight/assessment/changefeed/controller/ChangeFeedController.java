@@ -0,0 +1,111 @@
+package com.capgemini.twilight.assessment.changefeed.controller;
+
+import com.capgemini.twilight.assessment.changefeed.dto.ChangeEvent;
+import com.capgemini.twilight.assessment.changefeed.service.ChangeFeed;
+import com.capgemini.twilight.assessment.changefeed.service.ChangeFeedSubscriber;
+import com.capgemini.twilight.assessment.pagination.PaginationProperties;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+
+@Tag(name = "Change Feed", description = "Ordered feed of committed book and author changes")
+@RestController
+@RequestMapping("/changes")
+public class ChangeFeedController {
+
+    public static final String NEXT_OFFSET_HEADER = "X-Next-Offset";
+
+    private final ChangeFeed changeFeed;
+    private final PaginationProperties paginationProperties;
+    private final Duration pollTimeout;
+    private final Duration streamTimeout;
+    private final int batchSize;
+
+    public ChangeFeedController(ChangeFeed changeFeed, PaginationProperties paginationProperties,
+                                @Value("${change-feed.poll-timeout:PT25S}") Duration pollTimeout,
+                                @Value("${change-feed.stream-timeout:PT30M}") Duration streamTimeout,
+                                @Value("${change-feed.batch-size:100}") int batchSize) {
+        this.changeFeed = changeFeed;
+        this.paginationProperties = paginationProperties;
+        this.pollTimeout = pollTimeout;
+        this.streamTimeout = streamTimeout;
+        this.batchSize = batchSize;
+    }
+
+    @Operation(
+        summary = "Long-poll the changes after an offset",
+        description = "Answers at once when changes after 'since' exist, otherwise as soon as one commits or with an empty "
+            + "list after the poll timeout. Pass the '" + NEXT_OFFSET_HEADER + "' header back as 'since' to continue."
+    )
+    @GetMapping
+    public DeferredResult<ResponseEntity<List<ChangeEvent>>> pollChanges(
+        @Parameter(description = "Offset of the last change already seen; 0 reads from the oldest retained change.")
+        @RequestParam(defaultValue = "0") long since,
+        @Parameter(description = "Maximum number of changes in the response.")
+        @RequestParam(required = false) Integer limit
+    ) {
+        int pageSize = paginationProperties.resolvePageSize(limit);
+        DeferredResult<ResponseEntity<List<ChangeEvent>>> result =
+            new DeferredResult<>(pollTimeout.toMillis(), () -> page(since, List.of()));
+
+        List<ChangeEvent> changes = changeFeed.read(since, pageSize);
+        if (!changes.isEmpty()) {
+            result.setResult(page(since, changes));
+            return result;
+        }
+
+        ChangeFeedSubscriber waiter = new ChangeFeedSubscriber() {
+            @Override
+            public void onAdvance() {
+                if (!result.isSetOrExpired()) {
+                    List<ChangeEvent> arrived = changeFeed.read(since, pageSize);
+                    if (!arrived.isEmpty()) {
+                        result.setResult(page(since, arrived));
+                    }
+                }
+            }
+        };
+        result.onCompletion(() -> changeFeed.unsubscribe(waiter));
+        changeFeed.subscribe(waiter);
+        // a change may have committed between the read above and subscribing
+        waiter.onAdvance();
+        return result;
+    }
+
+    @Operation(
+        summary = "Follow the changes as Server-Sent Events",
+        description = "Each '" + ChangeStream.EVENT_NAME + "' event carries a batch of changes and the offset of its last one as "
+            + "event id, so a reconnecting client resumes through Last-Event-ID. Without either, only new changes are sent."
+    )
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+        @Parameter(description = "Offset of the last change already seen.")
+        @RequestParam(required = false) Long since,
+        @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        long after = since != null ? since : lastEventId != null ? lastEventId : changeFeed.horizon();
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        new ChangeStream(changeFeed, emitter, after, batchSize).start();
+        return emitter;
+    }
+
+    private static ResponseEntity<List<ChangeEvent>> page(long since, List<ChangeEvent> changes) {
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).offset();
+        return ResponseEntity.ok()
+            .header(NEXT_OFFSET_HEADER, Long.toString(next))
+            .body(changes);
+    }
+}
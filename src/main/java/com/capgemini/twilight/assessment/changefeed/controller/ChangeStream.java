@@ -0,0 +1,85 @@
+package com.capgemini.twilight.assessment.changefeed.controller;
+
+import com.capgemini.twilight.assessment.changefeed.dto.ChangeEvent;
+import com.capgemini.twilight.assessment.changefeed.service.ChangeFeed;
+import com.capgemini.twilight.assessment.changefeed.service.ChangeFeedSubscriber;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One Server-Sent Events follower. It sends the changes after its own cursor in batches of at most
+ * {@code batchSize}, one event per batch, and never has more than one send in flight: a slow client
+ * falls behind on its cursor instead of queueing events, and catches up from the feed's buffer (or
+ * the outbox) once it reads again.
+ */
+class ChangeStream implements ChangeFeedSubscriber {
+
+    static final String EVENT_NAME = "changes";
+
+    private final ChangeFeed feed;
+    private final SseEmitter emitter;
+    private final int batchSize;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long cursor;
+    private volatile boolean closed;
+
+    ChangeStream(ChangeFeed feed, SseEmitter emitter, long after, int batchSize) {
+        this.feed = feed;
+        this.emitter = emitter;
+        this.cursor = after;
+        this.batchSize = batchSize;
+    }
+
+    void start() {
+        emitter.onCompletion(this::close);
+        emitter.onTimeout(this::close);
+        emitter.onError(error -> close());
+        feed.subscribe(this);
+        onAdvance();
+    }
+
+    @Override
+    public void onAdvance() {
+        if (!closed && cursor < feed.horizon() && draining.compareAndSet(false, true)) {
+            feed.execute(this::drain);
+        }
+    }
+
+    @Override
+    public void onKeepAlive() {
+        try {
+            emitter.send(SseEmitter.event().comment("keep-alive"));
+        } catch (IOException | IllegalStateException e) {
+            close();
+        }
+    }
+
+    private void drain() {
+        try {
+            List<ChangeEvent> batch;
+            while (!closed && !(batch = feed.read(cursor, batchSize)).isEmpty()) {
+                long last = batch.get(batch.size() - 1).offset();
+                emitter.send(SseEmitter.event()
+                    .id(Long.toString(last))
+                    .name(EVENT_NAME)
+                    .data(batch, MediaType.APPLICATION_JSON));
+                cursor = last;
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+        } finally {
+            draining.set(false);
+        }
+        // a change may have landed between the last read and clearing the flag
+        onAdvance();
+    }
+
+    private void close() {
+        closed = true;
+        feed.unsubscribe(this);
+    }
+}
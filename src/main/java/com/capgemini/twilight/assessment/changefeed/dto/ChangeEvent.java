@@ -0,0 +1,31 @@
+package com.capgemini.twilight.assessment.changefeed.dto;
+
+import com.capgemini.twilight.assessment.changefeed.model.ChangeFeedEntry;
+import com.capgemini.twilight.assessment.changefeed.model.ChangeType;
+import com.capgemini.twilight.assessment.changefeed.model.ChangedEntity;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "One committed change; offsets only grow, with gaps where a write rolled back")
+public record ChangeEvent(
+    long offset,
+    ChangedEntity entity,
+    Long entityId,
+    ChangeType type,
+    Instant occurredAt,
+    @JsonRawValue String payload
+) {
+
+    public static ChangeEvent from(ChangeFeedEntry entry) {
+        return new ChangeEvent(
+            entry.getId(),
+            entry.getEntity(),
+            entry.getEntityId(),
+            entry.getType(),
+            entry.getOccurredAt(),
+            entry.getPayload()
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package com.capgemini.twilight.assessment.changefeed.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Length;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Outbox row, written in the transaction of the change it describes.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "change_feed", indexes = {
+    @Index(
+        name = "idx_change_feed_occurred_at",
+        columnList = "occurredAt"
+    )
+})
+public class ChangeFeedEntry {
+
+    /**
+     * The feed offset. Assigned by {@code ChangeFeed} in the order the changes are made rather than
+     * drawn from a sequence, so that offsets and the order in which they become visible agree.
+     */
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangedEntity entity;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType type;
+
+    /**
+     * JSON of the entity after the change, or before it for a deletion. Sized explicitly: a bare
+     * {@code @Lob} string is a 255-byte {@code tinytext} on MySQL.
+     */
+    @Lob
+    @Column(length = Length.LONG32)
+    private String payload;
+
+    @CreationTimestamp
+    private Instant occurredAt;
+}
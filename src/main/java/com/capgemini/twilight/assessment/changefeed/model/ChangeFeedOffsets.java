@@ -0,0 +1,34 @@
+package com.capgemini.twilight.assessment.changefeed.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The single row from which {@code ChangeFeedOffsetReserver} reserves blocks of offsets. Reserving
+ * goes through the database, so two instances never hand out the same offset, even while they
+ * overlap. Mapped so the schema is validated along with the other tables; it is read and written
+ * over JDBC.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "change_feed_offsets")
+public class ChangeFeedOffsets {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /** The first offset of the next block to reserve. */
+    @Column(nullable = false)
+    private long nextOffset;
+
+    public ChangeFeedOffsets(long nextOffset) {
+        this.id = ID;
+        this.nextOffset = nextOffset;
+    }
+}
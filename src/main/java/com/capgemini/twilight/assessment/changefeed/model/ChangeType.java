@@ -0,0 +1,7 @@
+package com.capgemini.twilight.assessment.changefeed.model;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
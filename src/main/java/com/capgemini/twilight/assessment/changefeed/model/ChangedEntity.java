@@ -0,0 +1,6 @@
+package com.capgemini.twilight.assessment.changefeed.model;
+
+public enum ChangedEntity {
+    AUTHOR,
+    BOOK
+}
@@ -0,0 +1,33 @@
+package com.capgemini.twilight.assessment.changefeed.repository;
+
+import com.capgemini.twilight.assessment.changefeed.model.ChangeFeedEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Reads the outbox in read-write transactions, which always go to the primary: offsets commit out of
+ * order, so a lagging replica can hold a change without a lower one the horizon already covers, and a
+ * follower reading there would move past the missing one for good.
+ */
+@Repository
+@Transactional
+public interface ChangeFeedRepository extends JpaRepository<ChangeFeedEntry, Long> {
+
+    @Query("SELECT e FROM ChangeFeedEntry e WHERE e.id > :after AND e.id <= :upTo ORDER BY e.id ASC")
+    List<ChangeFeedEntry> findPage(@Param("after") long after, @Param("upTo") long upTo, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM ChangeFeedEntry e")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM ChangeFeedEntry e WHERE e.occurredAt < :before")
+    int deleteOccurredBefore(@Param("before") Instant before);
+}
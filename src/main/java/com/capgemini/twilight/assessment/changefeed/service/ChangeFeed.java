@@ -0,0 +1,371 @@
+package com.capgemini.twilight.assessment.changefeed.service;
+
+import com.capgemini.twilight.assessment.author.event.AuthorChangedEvent;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.capgemini.twilight.assessment.changefeed.dto.ChangeEvent;
+import com.capgemini.twilight.assessment.changefeed.model.ChangeFeedEntry;
+import com.capgemini.twilight.assessment.changefeed.model.ChangeType;
+import com.capgemini.twilight.assessment.changefeed.model.ChangedEntity;
+import com.capgemini.twilight.assessment.changefeed.repository.ChangeFeedRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ordered feed of committed book and author changes.
+ * <p>
+ * Every change is written to the {@code change_feed} outbox in the transaction that makes it, under
+ * an offset handed out here in order. An offset becomes visible once it and every lower one have
+ * committed or rolled back (the horizon), so a follower that resumes after the last offset it saw
+ * never misses a change that committed late. The newest {@code change-feed.buffer-capacity} changes
+ * are kept in memory and serve followers that keep up; only the ones further behind read the table.
+ * <p>
+ * Offsets come from blocks of {@code change-feed.offset-block-size} reserved in the
+ * {@code change_feed_offsets} row, so no two instances ever write the same offset; an unused rest of a
+ * block is a gap in the feed. The next block is reserved in the background once half of the current
+ * one is handed out, so writers rarely wait for it. The horizon only tracks this instance's transactions, though, so the
+ * order above holds while a single instance writes to a given database (the deployment is
+ * recreated rather than rolled).
+ */
+@Component
+public class ChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private final ChangeFeedRepository repository;
+    private final ChangeFeedOffsetReserver offsetReserver;
+    private final int offsetBlockSize;
+    private final ExecutorService reservations;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int bufferCapacity;
+    private final Duration retention;
+    private final ExecutorService dispatcher;
+
+    private final Object lock = new Object();
+    private boolean loaded;
+    private long lastOffset;
+    /** The reserved offsets not handed out yet, {@code nextOffset} up to {@code blockEnd}. */
+    private long nextOffset = 1;
+    private long blockEnd;
+    /** First offset of the block reserved ahead, 0 until it arrives. */
+    private long spareBlock;
+    private boolean reserving;
+    private int failedReservations;
+    /** Offsets of open transactions (null) and committed changes waiting for a lower open one. */
+    private final TreeMap<Long, ChangeEvent> pending = new TreeMap<>();
+    private final ConcurrentSkipListMap<Long, ChangeEvent> recent = new ConcurrentSkipListMap<>();
+    private int recentSize;
+    private volatile long horizon;
+    /** {@link #recent} holds every committed change after this offset up to the horizon. */
+    private volatile long recentFloor = Long.MAX_VALUE;
+
+    private final Set<ChangeFeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    public ChangeFeed(ChangeFeedRepository repository, ChangeFeedOffsetReserver offsetReserver,
+                      EntityManager entityManager, ObjectMapper objectMapper,
+                      @Value("${change-feed.offset-block-size:50}") int offsetBlockSize,
+                      @Value("${change-feed.buffer-capacity:10000}") int bufferCapacity,
+                      @Value("${change-feed.retention:P7D}") Duration retention,
+                      @Value("${change-feed.dispatch-threads:4}") int dispatchThreads) {
+        this.repository = repository;
+        this.offsetReserver = offsetReserver;
+        this.offsetBlockSize = offsetBlockSize;
+        this.reservations = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "change-feed-offsets");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.bufferCapacity = bufferCapacity;
+        this.retention = retention;
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, task -> {
+            Thread thread = new Thread(task, "change-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (lock) {
+            awaitBlock();
+        }
+    }
+
+    /**
+     * @return every offset up to this one is settled, and committed changes up to it can be read
+     */
+    public long horizon() {
+        return horizon;
+    }
+
+    /**
+     * @return up to {@code limit} committed changes after offset {@code after}, in offset order
+     */
+    public List<ChangeEvent> read(long after, int limit) {
+        long upTo = horizon;
+        if (after >= upTo) {
+            return List.of();
+        }
+        if (after >= recentFloor) {
+            List<ChangeEvent> changes = recent.subMap(after, false, upTo, true).values().stream()
+                .limit(limit)
+                .toList();
+            // eviction moves the floor before removing anything, so this tells whether all were still there
+            if (after >= recentFloor) {
+                return changes;
+            }
+        }
+        return repository.findPage(after, upTo, Limit.of(limit)).stream()
+            .map(ChangeEvent::from)
+            .toList();
+    }
+
+    public void subscribe(ChangeFeedSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(ChangeFeedSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * Runs work for a subscriber, e.g. sending it the next batch, on the dispatch threads.
+     */
+    public void execute(Runnable task) {
+        dispatcher.execute(task);
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.previous() == null) {
+            record(ChangedEntity.BOOK, event.bookId(), ChangeType.CREATED, event.current());
+        } else if (event.current() == null) {
+            record(ChangedEntity.BOOK, event.bookId(), ChangeType.DELETED, event.previous());
+        } else {
+            record(ChangedEntity.BOOK, event.bookId(), ChangeType.UPDATED, event.current());
+        }
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        Map<String, Object> author = new LinkedHashMap<>();
+        author.put("id", event.authorId());
+        author.put("name", event.currentName());
+        record(ChangedEntity.AUTHOR, event.authorId(),
+            event.previousName() == null ? ChangeType.CREATED : ChangeType.UPDATED, author);
+    }
+
+    @Scheduled(fixedDelayString = "${change-feed.keep-alive-interval:PT15S}")
+    public void keepAlive() {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            dispatcher.execute(subscriber::onKeepAlive);
+        }
+    }
+
+    @Scheduled(cron = "${change-feed.purge-cron:0 0 4 * * *}")
+    public void purge() {
+        int purged = repository.deleteOccurredBefore(Instant.now().minus(retention));
+        log.info("Purged {} change feed entries older than {}", purged, retention);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        reservations.shutdownNow();
+    }
+
+    private void record(ChangedEntity entity, Long entityId, ChangeType type, Object state) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("A " + entity + " change must be recorded inside its transaction");
+        }
+        ChangeFeedEntry entry = new ChangeFeedEntry();
+        entry.setEntity(entity);
+        entry.setEntityId(entityId);
+        entry.setType(type);
+        entry.setPayload(toJson(state));
+
+        // registered before the offset is handed out, so that it is settled whatever happens after
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Long offset = entry.getId();
+                if (offset == null) {
+                    return;
+                }
+                synchronized (lock) {
+                    if (status == STATUS_COMMITTED) {
+                        pending.put(offset, ChangeEvent.from(entry));
+                    } else {
+                        pending.remove(offset);
+                    }
+                    advance();
+                }
+            }
+        });
+        entry.setId(nextOffset());
+        entityManager.persist(entry);
+    }
+
+    /**
+     * Moves the committed changes at the head of {@link #pending} into {@link #recent}, and the
+     * horizon up to the lowest offset still open. Called holding {@link #lock}.
+     */
+    private void advance() {
+        while (!pending.isEmpty() && pending.firstEntry().getValue() != null) {
+            ChangeEvent change = pending.pollFirstEntry().getValue();
+            recent.put(change.offset(), change);
+            recentSize++;
+        }
+        while (recentSize > bufferCapacity) {
+            recentFloor = recent.firstKey();
+            recent.pollFirstEntry();
+            recentSize--;
+        }
+
+        long settled = pending.isEmpty() ? lastOffset : pending.firstKey() - 1;
+        if (settled > horizon) {
+            horizon = settled;
+            if (!subscribers.isEmpty() && dispatchScheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::dispatch);
+            }
+        }
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onAdvance();
+            } catch (RuntimeException e) {
+                log.warn("Change feed subscriber failed", e);
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Hands out the next offset and registers it as open, starting the reservation of the next block
+     * once half of the current one is gone.
+     */
+    private long nextOffset() {
+        synchronized (lock) {
+            awaitBlock();
+            long offset = nextOffset++;
+            lastOffset = offset;
+            pending.put(offset, null);
+            if (blockEnd - offset <= offsetBlockSize / 2) {
+                startReservation();
+            }
+            return offset;
+        }
+    }
+
+    /**
+     * Makes a block with offsets left current, waiting for the one being reserved if it has not
+     * arrived yet. The wait only holds up writers that ran out, and the reservation does not need any
+     * of their connections. Called holding {@link #lock}.
+     */
+    private void awaitBlock() {
+        int failuresBefore = failedReservations;
+        while (nextOffset > blockEnd) {
+            if (spareBlock != 0) {
+                nextOffset = spareBlock;
+                blockEnd = spareBlock + offsetBlockSize - 1;
+                spareBlock = 0;
+            } else if (failedReservations != failuresBefore) {
+                throw new IllegalStateException("Change feed offsets could not be reserved");
+            } else {
+                startReservation();
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted waiting for change feed offsets", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reserves the next block on the reservation thread, unless it is reserved or being reserved
+     * already. Blocks are reserved one at a time, so they arrive in increasing order. Called holding
+     * {@link #lock}.
+     */
+    private void startReservation() {
+        if (spareBlock != 0 || reserving) {
+            return;
+        }
+        reserving = true;
+        reservations.execute(() -> {
+            long first = 0;
+            try {
+                first = offsetReserver.reserve(offsetBlockSize);
+            } catch (RuntimeException e) {
+                log.warn("Change feed offsets could not be reserved", e);
+            }
+            synchronized (lock) {
+                reserving = false;
+                if (first == 0) {
+                    failedReservations++;
+                } else {
+                    install(first);
+                }
+                lock.notifyAll();
+            }
+        });
+    }
+
+    /**
+     * Keeps the block that begins at {@code first} for when the current one runs out. The first block
+     * also starts the horizon: every offset below it was written before this process. Called holding
+     * {@link #lock}.
+     */
+    private void install(long first) {
+        if (!loaded) {
+            lastOffset = first - 1;
+            horizon = lastOffset;
+            recentFloor = lastOffset;
+            loaded = true;
+            log.info("Change feed resumes after offset {}", lastOffset);
+        }
+        spareBlock = first;
+    }
+
+    private String toJson(Object state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + state, e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.capgemini.twilight.assessment.changefeed.service;
+
+import com.capgemini.twilight.assessment.changefeed.model.ChangeFeedOffsets;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Reserves blocks of change feed offsets in the {@code change_feed_offsets} row of the primary, over
+ * a connection of its own rather than one from the application pool. A writer waiting for the next
+ * block already holds a pooled connection, so taking a second one from the same pool could leave
+ * every writer waiting on connections only they hold.
+ */
+@Component
+public class ChangeFeedOffsetReserver {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public ChangeFeedOffsetReserver(DataSourceProperties properties) {
+        // not a bean, so it does not displace the application data source; connects on first use
+        this.dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("change-feed-offsets");
+        this.dataSource.setMaximumPoolSize(1);
+        this.dataSource.setMinimumIdle(0);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * @return the first of {@code size} offsets no other reservation, in this or another instance,
+     * will hand out
+     */
+    long reserve(int size) {
+        while (true) {
+            try {
+                return transaction.execute(status -> {
+                    List<Long> next = jdbcTemplate.queryForList(
+                        "SELECT next_offset FROM change_feed_offsets WHERE id = ? FOR UPDATE", Long.class, ChangeFeedOffsets.ID);
+                    if (next.isEmpty()) {
+                        long first = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM change_feed", Long.class);
+                        jdbcTemplate.update("INSERT INTO change_feed_offsets (id, next_offset) VALUES (?, ?)",
+                            ChangeFeedOffsets.ID, first + size);
+                        return first;
+                    }
+                    long first = next.get(0);
+                    jdbcTemplate.update("UPDATE change_feed_offsets SET next_offset = ? WHERE id = ?",
+                        first + size, ChangeFeedOffsets.ID);
+                    return first;
+                });
+            } catch (DuplicateKeyException e) {
+                // another instance created the row first; lock that one
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.capgemini.twilight.assessment.changefeed.service;
+
+/**
+ * Follower of the {@link ChangeFeed}. Both callbacks run on the feed's dispatch threads and must not
+ * block for long; a subscriber that needs more than one batch reads it from there itself.
+ */
+public interface ChangeFeedSubscriber {
+
+    /**
+     * Called, possibly coalesced, after the feed's horizon moved.
+     */
+    void onAdvance();
+
+    /**
+     * Called every {@code change-feed.keep-alive-interval} while subscribed.
+     */
+    default void onKeepAlive() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.capgemini.twilight.assessment.conditional;
+
+import java.time.Instant;
+
+/**
+ * Version of a whole table, or of two tables together: an insert or update moves the latest
+ * modification, a delete the row count.
+ *
+ * @param lastModified null when there are no rows
+ */
+public record CollectionVersion(Long rows, Instant lastModified) {
+
+    public CollectionVersion(Long rows, Instant lastModified, Instant otherLastModified) {
+        this(rows, otherLastModified == null || (lastModified != null && lastModified.isAfter(otherLastModified))
+            ? lastModified
+            : otherLastModified);
+    }
+}
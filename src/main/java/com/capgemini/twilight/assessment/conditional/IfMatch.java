@@ -0,0 +1,55 @@
+package com.capgemini.twilight.assessment.conditional;
+
+import com.capgemini.twilight.assessment.exception.PreconditionFailedException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The entity versions an {@code If-Match} header allows a write to apply to. Entity tags of single
+ * resources start with the id and the version (see {@link ResourceVersion#of}), so the version is
+ * read back from the tag rather than looked up.
+ *
+ * @param any      the header was {@code *}: any existing version
+ * @param versions the versions named by strong tags of this resource
+ */
+public record IfMatch(boolean any, Set<Long> versions) {
+
+    /**
+     * @return null without a header
+     */
+    public static IfMatch parse(String header, Object id) {
+        if (header == null) {
+            return null;
+        }
+        if (header.trim().equals("*")) {
+            return new IfMatch(true, Set.of());
+        }
+        String prefix = id + "-";
+        Set<Long> versions = new HashSet<>();
+        for (String tag : header.split(",")) {
+            tag = tag.trim();
+            // weak tags never match under the strong comparison If-Match requires
+            if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            String value = tag.substring(1, tag.length() - 1);
+            if (value.startsWith(prefix)) {
+                String rest = value.substring(prefix.length());
+                int end = rest.indexOf('-');
+                try {
+                    versions.add(Long.parseLong(end < 0 ? rest : rest.substring(0, end)));
+                } catch (NumberFormatException e) {
+                    // not one of ours: cannot match
+                }
+            }
+        }
+        return new IfMatch(false, versions);
+    }
+
+    public void check(long currentVersion) {
+        if (!any && !versions.contains(currentVersion)) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.capgemini.twilight.assessment.conditional;
+
+import com.capgemini.twilight.assessment.exception.PreconditionFailedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs read-modify-write updates of versioned entities, each attempt in its own transaction. An
+ * update that lost the race to a concurrent one is retried on the fresh row, up to
+ * {@code optimistic-locking.max-attempts} times, as long as it only sets absolute values, i.e.
+ * re-running it is exactly what the client asked for. An update conditional on If-Match is not
+ * retried: the client's version is gone, so its precondition failed.
+ */
+@Component
+public class OptimisticUpdates {
+
+    private final TransactionTemplate transaction;
+    private final int maxAttempts;
+
+    public OptimisticUpdates(PlatformTransactionManager transactionManager,
+                             @Value("${optimistic-locking.max-attempts:3}") int maxAttempts) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * @param ifMatch the client's precondition, null for none
+     */
+    public <T> T execute(IfMatch ifMatch, Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (ifMatch != null) {
+                    throw new PreconditionFailedException("The resource was modified concurrently");
+                }
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
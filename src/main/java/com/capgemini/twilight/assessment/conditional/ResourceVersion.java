@@ -0,0 +1,148 @@
+package com.capgemini.twilight.assessment.conditional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Validators of a representation, known before the representation is built: from a version-only
+ * query, or from an entity the second-level cache already holds. A request whose
+ * {@code If-None-Match} (or, without one, {@code If-Modified-Since}) still matches is answered with
+ * 304 and the body is neither loaded nor serialized.
+ * <p>
+ * A version is served as JSON, Smile or CBOR, each with a tag of its own: a strong tag promises
+ * byte-identical bodies. The encoding is negotiated from {@code Accept} the way the message
+ * converters do, and named at the end of the tag, after the parts {@link IfMatch} reads back.
+ * Collections get weak tags instead: they are only compared for {@code If-None-Match}, and Tomcat
+ * does not compress a response carrying a strong tag.
+ *
+ * @param etag         entity tag of the JSON encoding, quoted, strong for an entity and weak for a collection
+ * @param lastModified the {@code Last-Modified} value, or null when no timestamp alone tells versions
+ *                     apart (e.g. a count that changes without touching any timestamp)
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    /**
+     * A resource whose every change also moves {@code lastModified}; for an entity the parts start
+     * with its id and version.
+     */
+    public static ResourceVersion lastModified(Instant lastModified, Object... parts) {
+        return new ResourceVersion(etagOf(parts), lastModified);
+    }
+
+    /**
+     * A resource identified by several values, validated by entity tag only. For an entity the parts
+     * start with its id and version, which is what {@link IfMatch} reads back.
+     */
+    public static ResourceVersion of(Object... parts) {
+        return new ResourceVersion(etagOf(parts), null);
+    }
+
+    /**
+     * A whole collection, validated by a weak entity tag only.
+     */
+    public static ResourceVersion of(CollectionVersion version) {
+        return new ResourceVersion("W/" + etagOf(version.rows(), version.lastModified()), null);
+    }
+
+    public <T> ResponseEntity<T> respond(WebRequest request, Supplier<? extends ResponseEntity<? extends T>> response) {
+        String tag = etagFor(request);
+        boolean notModified = lastModified != null
+            ? request.checkNotModified(tag, lastModified.toEpochMilli())
+            : request.checkNotModified(tag);
+        if (notModified) {
+            return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), tag).build();
+        }
+        ResponseEntity<? extends T> fresh = response.get();
+        return withValidators(ResponseEntity.status(fresh.getStatusCode()).headers(fresh.getHeaders()), tag)
+            .body(fresh.getBody());
+    }
+
+    /**
+     * The response to a write, carrying the validators the client needs for its next conditional request.
+     */
+    public <T> ResponseEntity<T> ok(WebRequest request, T body) {
+        return withValidators(ResponseEntity.ok(), etagFor(request)).body(body);
+    }
+
+    /**
+     * The tag depends on the encoding, so shared caches must keep the encodings apart by {@code Accept}.
+     */
+    private ResponseEntity.BodyBuilder withValidators(ResponseEntity.BodyBuilder builder, String tag) {
+        builder.eTag(tag).varyBy(HttpHeaders.ACCEPT);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return builder;
+    }
+
+    private String etagFor(WebRequest request) {
+        Encoding encoding = Encoding.negotiate(request.getHeaderValues(HttpHeaders.ACCEPT));
+        return encoding.suffix == null ? etag : etag.substring(0, etag.length() - 1) + "-" + encoding.suffix + "\"";
+    }
+
+    private static String etagOf(Object... parts) {
+        StringJoiner etag = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            if (part == null) {
+                etag.add("0");
+            } else if (part instanceof Instant instant) {
+                etag.add(Long.toString(instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000, 36));
+            } else {
+                etag.add(part.toString());
+            }
+        }
+        return etag.toString();
+    }
+
+    /**
+     * The encodings of a version, in the order of their message converters.
+     */
+    private enum Encoding {
+        JSON(MediaType.APPLICATION_JSON, null),
+        SMILE(MediaType.valueOf("application/x-jackson-smile"), "smile"),
+        CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+        private final MediaType mediaType;
+        private final String suffix;
+
+        Encoding(MediaType mediaType, String suffix) {
+            this.mediaType = mediaType;
+            this.suffix = suffix;
+        }
+
+        /**
+         * @return the encoding of the most specific, highest quality accepted type one is compatible
+         * with; JSON without a usable {@code Accept}, which is also what the converters fall back to
+         */
+        static Encoding negotiate(String[] accept) {
+            if (accept == null) {
+                return JSON;
+            }
+            List<MediaType> accepted;
+            try {
+                accepted = MediaType.parseMediaTypes(List.of(accept));
+                MimeTypeUtils.sortBySpecificity(accepted);
+            } catch (IllegalArgumentException e) {
+                // unparseable or too many types; the converters refuse such a request anyway
+                return JSON;
+            }
+            for (MediaType type : accepted) {
+                for (Encoding encoding : values()) {
+                    if (type.isCompatibleWith(encoding.mediaType)) {
+                        return encoding;
+                    }
+                }
+            }
+            return JSON;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.capgemini.twilight.assessment.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures how many bytes the request thread allocates while handling a request, per HTTP method and
+ * URI pattern. The JVM-wide allocation rate ({@code jvm.gc.memory.allocated}) says that garbage is
+ * produced; this says by which endpoint. Work handed to other threads, such as asynchronous and
+ * streamed responses, is not included.
+ */
+public class AllocationMetricsFilter extends OncePerRequestFilter {
+
+    static final String SUMMARY_NAME = "http.server.requests.allocation";
+
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final Map<Endpoint, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public AllocationMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.threadBean = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()
+            ? bean
+            : null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        if (threadBean == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // -1 where the JVM cannot tell, e.g. on virtual threads
+            long after = threadBean.getCurrentThreadAllocatedBytes();
+            if (before >= 0 && after >= 0) {
+                summaryFor(request).record(after - before);
+            }
+        }
+    }
+
+    private DistributionSummary summaryFor(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Endpoint endpoint = new Endpoint(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN");
+        DistributionSummary summary = summaries.get(endpoint);
+        return summary != null ? summary : summaries.computeIfAbsent(endpoint, this::registerSummary);
+    }
+
+    private DistributionSummary registerSummary(Endpoint endpoint) {
+        return DistributionSummary.builder(SUMMARY_NAME)
+            .description("Bytes allocated by the request thread while handling a request")
+            .baseUnit("bytes")
+            .tag("method", endpoint.method())
+            .tag("uri", endpoint.uri())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private record Endpoint(String method, String uri) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.capgemini.twilight.assessment.config;
+
+import com.capgemini.twilight.assessment.author.dto.AuthorRequest;
+import com.capgemini.twilight.assessment.author.dto.AuthorSummary;
+import com.capgemini.twilight.assessment.author.dto.AuthorVersion;
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.batch.BatchItemResult;
+import com.capgemini.twilight.assessment.book.dto.BookDateKey;
+import com.capgemini.twilight.assessment.book.dto.BookRequest;
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.model.Book;
+import com.capgemini.twilight.assessment.catalog.dto.CatalogRecord;
+import com.capgemini.twilight.assessment.catalog.dto.ImportTotals;
+import com.capgemini.twilight.assessment.changefeed.dto.ChangeEvent;
+import com.capgemini.twilight.assessment.conditional.CollectionVersion;
+import com.capgemini.twilight.assessment.stats.dto.AuthorStats;
+import com.capgemini.twilight.assessment.stats.dto.BookStats;
+import com.capgemini.twilight.assessment.stats.dto.PageBucket;
+import com.capgemini.twilight.assessment.stats.dto.YearStats;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * What the native image needs beyond what Spring AOT infers from the bean definitions and the
+ * controller signatures; the build turns it into {@code reflect-config.json} and
+ * {@code resource-config.json}. The DTOs are instantiated by JPQL constructor expressions or
+ * serialized behind erased types such as {@code ResponseEntity<?>} or outside a controller, and the MySQL driver classes
+ * are loaded by name.
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> BOUND_TYPES = List.of(
+        Book.class, Author.class,
+        BookView.class, BookRequest.class, BookDateKey.class,
+        AuthorSummary.class, AuthorRequest.class, AuthorVersion.class,
+        CollectionVersion.class, BatchItemResult.class, ChangeEvent.class,
+        BookStats.class, AuthorStats.class, YearStats.class, PageBucket.class,
+        CatalogRecord.class, ImportTotals.class
+    );
+
+    static final List<String> DRIVER_TYPES = List.of(
+        "com.mysql.cj.jdbc.Driver",
+        "com.mysql.cj.CoreSession",
+        "com.mysql.cj.protocol.a.NativeSocketConnection",
+        "com.mysql.cj.log.StandardLogger"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (Class<?> type : BOUND_TYPES) {
+            bindings.registerReflectionHints(hints.reflection(), type);
+        }
+        for (String driverType : DRIVER_TYPES) {
+            hints.reflection().registerType(TypeReference.of(driverType), MemberCategory.values());
+        }
+        hints.resources().registerPattern("hibernate-cache.conf");
+        hints.resources().registerPattern("db/migration/*/V*__*.sql");
+    }
+}
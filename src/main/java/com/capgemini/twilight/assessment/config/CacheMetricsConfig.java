@@ -0,0 +1,35 @@
+package com.capgemini.twilight.assessment.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+public class CacheMetricsConfig {
+
+    /**
+     * Publishes the hit, miss, put and eviction counts of every Hibernate second-level cache region
+     * (entities, collections, query results) as {@code cache.*} meters tagged with the region name.
+     */
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache()
+                .getRegionFactory();
+            if (regionFactory instanceof JCacheRegionFactory jCacheRegionFactory) {
+                CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+                for (String region : cacheManager.getCacheNames()) {
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.capgemini.twilight.assessment.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records the bytes each request allocates on its thread as {@code http.server.requests.allocation},
+     * tagged like {@code http.server.requests}.
+     */
+    @Bean
+    public AllocationMetricsFilter allocationMetricsFilter(MeterRegistry meterRegistry) {
+        return new AllocationMetricsFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,9 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import java.sql.SQLTransientConnectionException;
+
+public class ConnectionLimitExceededException extends SQLTransientConnectionException {
+    public ConnectionLimitExceededException(String message) {
+        super(message);
+    }
+}
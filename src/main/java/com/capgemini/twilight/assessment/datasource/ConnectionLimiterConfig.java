@@ -0,0 +1,60 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every connection pool in a {@link ConcurrencyLimitedDataSource}. Data sources that only delegate
+ * or route to a pool are left alone, since the pool behind them is limited already. Each pool admits as
+ * many callers as it has connections unless {@code datasource.limiter.max-concurrent} says fewer.
+ */
+@Configuration
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(ObjectProvider<ConnectionLimiterProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)
+                    || bean instanceof DelegatingDataSource
+                    || bean instanceof AbstractRoutingDataSource) {
+                    return bean;
+                }
+                ConnectionLimiterProperties limiter = properties.getObject();
+                if (!limiter.enabled()) {
+                    return bean;
+                }
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrent(dataSource, beanName, limiter),
+                    limiter.acquireTimeout());
+            }
+        };
+    }
+
+    private static int maxConcurrent(DataSource dataSource, String beanName, ConnectionLimiterProperties limiter) {
+        if (!(dataSource instanceof HikariDataSource pool)) {
+            if (limiter.maxConcurrent() == null) {
+                throw new IllegalStateException("datasource.limiter.max-concurrent must be set to limit " + beanName
+                    + ", whose pool size is not known");
+            }
+            return limiter.maxConcurrent();
+        }
+        int poolSize = pool.getMaximumPoolSize();
+        if (limiter.maxConcurrent() == null) {
+            return poolSize;
+        }
+        if (limiter.maxConcurrent() > poolSize) {
+            throw new IllegalStateException("datasource.limiter.max-concurrent (" + limiter.maxConcurrent()
+                + ") exceeds the " + poolSize + " connections of " + beanName
+                + "; the callers beyond them would wait inside the pool");
+        }
+        return limiter.maxConcurrent();
+    }
+}
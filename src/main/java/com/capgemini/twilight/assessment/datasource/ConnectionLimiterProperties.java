@@ -0,0 +1,20 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param maxConcurrent   connections that may be held or awaited from each pool at the same time; defaults to
+ *                        the pool's {@code maximum-pool-size} and may not exceed it, as callers beyond it would
+ *                        only wait inside the pool
+ * @param acquireTimeout  how long a caller waits for one of those slots before being turned away
+ */
+@ConfigurationProperties(prefix = "datasource.limiter")
+public record ConnectionLimiterProperties(
+    @DefaultValue("true") boolean enabled,
+    Integer maxConcurrent,
+    @DefaultValue("500ms") Duration acquireTimeout
+) {
+}
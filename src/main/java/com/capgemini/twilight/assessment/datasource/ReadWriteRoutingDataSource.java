@@ -0,0 +1,44 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica, unless it is lagging too far behind or the current
+ * request has to read its own writes, and everything else to the primary. Read-write transactions
+ * and reads served by the replica are reported to {@link ReadYourWrites}. The decision relies on the transaction being set up
+ * before the connection is fetched, so this has to sit behind a lazy connection proxy.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicationLagMonitor lagMonitor;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWrites.recordWrite();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable() || ReadYourWrites.isPinnedToPrimary()) {
+            return Target.PRIMARY;
+        }
+        ReadYourWrites.recordReplicaRead();
+        return Target.REPLICA;
+    }
+}
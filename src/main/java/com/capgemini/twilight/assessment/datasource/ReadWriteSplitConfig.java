@@ -0,0 +1,75 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Splits reads from writes once {@code datasource.replica.url} is set. The application data source
+ * is a {@link LazyConnectionDataSourceProxy}, which fetches the physical connection on the first
+ * statement, by which time the transaction is known to be read-only or not: read-only transactions
+ * are served by the replica, everything else (writes, schema management, lazy loading outside a
+ * transaction) by the primary. Hibernate releases connections after each transaction, so one request
+ * can read from the replica and then write to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+public class ReadWriteSplitConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties replica, DataSourceProperties primary) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.url())
+            .username(replica.username() != null ? replica.username() : primary.determineUsername())
+            .password(replica.password() != null ? replica.password() : primary.determinePassword())
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationLagMonitor replicationLagMonitor(
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaDataSourceProperties properties
+    ) {
+        return new ReplicationLagMonitor(new JdbcTemplate(replicaDataSource), properties.lagQuery(), properties.maxLag());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicationLagMonitor lagMonitor
+    ) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, lagMonitor)
+        );
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaDataSourceProperties properties, ReplicationLagMonitor lagMonitor) {
+        return new ReadYourWritesFilter(properties.readYourWritesWindow(), properties.maxLag(), lagMonitor);
+    }
+}
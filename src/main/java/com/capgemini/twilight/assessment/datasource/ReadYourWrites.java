@@ -0,0 +1,67 @@
+package com.capgemini.twilight.assessment.datasource;
+
+/**
+ * Per-request read-your-writes state. A request is pinned to the primary when its client wrote
+ * recently, and becomes pinned as soon as it writes itself, so that a read later in the same request
+ * does not go to a replica that has not caught up yet. It also tells whether anything the request
+ * read came from the replica.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    static void open(boolean pinnedToPrimary, Runnable onFirstWrite) {
+        CURRENT.set(new Scope(pinnedToPrimary, onFirstWrite));
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.pinnedToPrimary;
+    }
+
+    /**
+     * @return whether a read of the current request was served by the replica, which may not show the
+     * latest writes yet
+     */
+    public static boolean hasReadFromReplica() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.readFromReplica;
+    }
+
+    static void recordReplicaRead() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.readFromReplica = true;
+        }
+    }
+
+    static void recordWrite() {
+        Scope scope = CURRENT.get();
+        if (scope == null || scope.wrote) {
+            return;
+        }
+        scope.wrote = true;
+        scope.pinnedToPrimary = true;
+        scope.onFirstWrite.run();
+    }
+
+    private static final class Scope {
+
+        private final Runnable onFirstWrite;
+        private boolean pinnedToPrimary;
+        private boolean wrote;
+        private boolean readFromReplica;
+
+        private Scope(boolean pinnedToPrimary, Runnable onFirstWrite) {
+            this.pinnedToPrimary = pinnedToPrimary;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
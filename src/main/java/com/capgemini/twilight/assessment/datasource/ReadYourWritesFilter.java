@@ -0,0 +1,79 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Hands out a {@value #COOKIE_NAME} cookie when a request writes to the primary and keeps the reads of
+ * requests carrying it on the primary for the read-your-writes window, stretched to the replica's
+ * current lag when that is longer. Runs just before the other application filters, so they can tell
+ * a request pinned to the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String COOKIE_NAME = "last-write";
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final Duration minimumWindow;
+    private final Duration maxLag;
+    private final ReplicationLagMonitor lagMonitor;
+
+    public ReadYourWritesFilter(Duration minimumWindow, Duration maxLag, ReplicationLagMonitor lagMonitor) {
+        this.minimumWindow = minimumWindow;
+        this.maxLag = maxLag;
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        ReadYourWrites.open(wroteRecently(request), () -> response.addCookie(lastWriteCookie()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.close();
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long lastWrite = Long.parseLong(cookie.getValue());
+            return System.currentTimeMillis() - lastWrite < window().toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Duration window() {
+        Duration lag = lagMonitor.currentLag();
+        return lag.compareTo(minimumWindow) > 0 ? lag : minimumWindow;
+    }
+
+    // Past maxLag the replica is not read from at all, so the cookie need not outlive it.
+    private Cookie lastWriteCookie() {
+        Duration lifetime = maxLag.compareTo(minimumWindow) > 0 ? maxLag : minimumWindow;
+        Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(System.currentTimeMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, lifetime.toSeconds()));
+        return cookie;
+    }
+}
@@ -0,0 +1,25 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Read replica used for read-only transactions. Read/write splitting is only switched on when
+ * {@code url} is set; the credentials default to those of the primary.
+ *
+ * @param lagQuery             query run against the replica whose {@code Seconds_Behind_Source} column reports its lag
+ * @param maxLag               lag beyond which read-only transactions go back to the primary
+ * @param readYourWritesWindow minimum time a client's reads stay on the primary after it wrote
+ */
+@ConfigurationProperties(prefix = "datasource.replica")
+public record ReplicaDataSourceProperties(
+    String url,
+    String username,
+    String password,
+    @DefaultValue("SHOW REPLICA STATUS") String lagQuery,
+    @DefaultValue("10s") Duration maxLag,
+    @DefaultValue("2s") Duration readYourWritesWindow
+) {
+}
@@ -0,0 +1,67 @@
+package com.capgemini.twilight.assessment.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Polls the replica for its replication lag. The replica is only put into rotation once a check has
+ * passed, and taken out again while the lag exceeds {@code maxLag}, while replication is not running
+ * (no row or a null lag) and while the query itself fails.
+ */
+public class ReplicationLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationLagMonitor.class);
+
+    static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile Duration lag = Duration.ZERO;
+    private volatile boolean replicaUsable;
+
+    public ReplicationLagMonitor(JdbcTemplate replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        Long seconds;
+        try {
+            seconds = replica.query(lagQuery, rs -> rs.next() ? (Long) rs.getObject(LAG_COLUMN, Long.class) : null);
+        } catch (DataAccessException e) {
+            update(null, "lag query failed: " + e.getMessage());
+            return;
+        }
+        update(seconds == null ? null : Duration.ofSeconds(seconds), "replication is not running");
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Duration currentLag() {
+        return lag;
+    }
+
+    private void update(Duration observed, String unavailableReason) {
+        boolean usable = observed != null && observed.compareTo(maxLag) <= 0;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica in rotation, lag {}", observed);
+            } else {
+                log.warn("Replica taken out of rotation: {}", observed == null ? unavailableReason : "lag " + observed);
+            }
+        }
+        lag = observed == null ? maxLag : observed;
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,7 @@
+package com.capgemini.twilight.assessment.exception;
+
+public class PreconditionRequiredException extends RuntimeException {
+    public PreconditionRequiredException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
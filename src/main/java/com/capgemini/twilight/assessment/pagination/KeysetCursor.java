@@ -0,0 +1,41 @@
+package com.capgemini.twilight.assessment.pagination;
+
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a page, handed to clients as an opaque continuation token.
+ * The next page starts strictly after {@code (lastModifiedDate, id)} for {@link KeysetSort#LAST_MODIFIED}
+ * and strictly after {@code id} for {@link KeysetSort#ID}.
+ */
+public record KeysetCursor(Instant lastModifiedDate, long id) implements PageCursor {
+
+    public static final KeysetCursor START = new KeysetCursor(Instant.EPOCH, 0L);
+
+    @Override
+    public String encode() {
+        String raw = lastModifiedDate.getEpochSecond() + "." + lastModifiedDate.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = raw.indexOf(':');
+            int dot = raw.indexOf('.');
+            Instant lastModifiedDate = Instant.ofEpochSecond(
+                Long.parseLong(raw.substring(0, dot)),
+                Long.parseLong(raw.substring(dot + 1, colon))
+            );
+            return new KeysetCursor(lastModifiedDate, Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
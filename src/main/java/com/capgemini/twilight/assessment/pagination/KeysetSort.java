@@ -0,0 +1,28 @@
+package com.capgemini.twilight.assessment.pagination;
+
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+
+import java.util.Arrays;
+
+public enum KeysetSort {
+
+    ID("id"),
+    LAST_MODIFIED("last-modified");
+
+    private final String queryName;
+
+    KeysetSort(String queryName) {
+        this.queryName = queryName;
+    }
+
+    public String getQueryName() {
+        return queryName;
+    }
+
+    public static KeysetSort fromQueryName(String queryName) {
+        return Arrays.stream(values())
+            .filter(sort -> sort.queryName.equals(queryName))
+            .findFirst()
+            .orElseThrow(() -> new InvalidRequestException("Invalid sort parameter: " + queryName));
+    }
+}
@@ -0,0 +1,12 @@
+package com.capgemini.twilight.assessment.pagination;
+
+/**
+ * Position of the last row of a keyset page.
+ */
+public interface PageCursor {
+
+    /**
+     * @return the position as an opaque, URL-safe continuation token
+     */
+    String encode();
+}
@@ -0,0 +1,22 @@
+package com.capgemini.twilight.assessment.pagination;
+
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "pagination")
+public record PaginationProperties(
+    @DefaultValue("100") int defaultPageSize,
+    @DefaultValue("1000") int maxPageSize
+) {
+
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1 || requested > maxPageSize) {
+            throw new InvalidRequestException("Page size must be between 1 and " + maxPageSize);
+        }
+        return requested;
+    }
+}
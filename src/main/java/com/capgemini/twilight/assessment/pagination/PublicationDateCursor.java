@@ -0,0 +1,36 @@
+package com.capgemini.twilight.assessment.pagination;
+
+import com.capgemini.twilight.assessment.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Continuation token of the by-date book search: the next page starts strictly after
+ * {@code (publicationDate, id)} in the direction of the scan.
+ */
+public record PublicationDateCursor(LocalDate publicationDate, long id) implements PageCursor {
+
+    @Override
+    public String encode() {
+        String raw = publicationDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded position, or {@code null} to start from the beginning
+     */
+    public static PublicationDateCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int colon = raw.lastIndexOf(':');
+            return new PublicationDateCursor(LocalDate.parse(raw.substring(0, colon)), Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.capgemini.twilight.assessment.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository {@link Stream} to the response while the rows are still being read, either as
+ * newline-delimited JSON or as a CBOR sequence (RFC 8742), CBOR items written back to back. The persistence context is cleared after every {@value #CLEAR_INTERVAL} rows, so it
+ * never grows beyond one batch of entities regardless of table size. Projection streams never
+ * populate it in the first place.
+ */
+@Component
+public class ResponseStreamWriter {
+
+    public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+    public static final MediaType APPLICATION_CBOR_SEQ = MediaType.valueOf(APPLICATION_CBOR_SEQ_VALUE);
+
+    private static final int CLEAR_INTERVAL = StreamingQueries.FETCH_SIZE;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper cborObjectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ResponseStreamWriter(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.cborObjectMapper = cborConverter.getObjectMapper();
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @param format {@link MediaType#APPLICATION_NDJSON} or {@link #APPLICATION_CBOR_SEQ}
+     */
+    public <T> ResponseEntity<StreamingResponseBody> stream(MediaType format, Supplier<Stream<T>> source) {
+        return stream(format, source, objectMapper.getSerializationConfig().getFilterProvider());
+    }
+
+    public <T> ResponseEntity<StreamingResponseBody> stream(MediaType format, Supplier<Stream<T>> source,
+                                                            FilterProvider filters) {
+        boolean cbor = APPLICATION_CBOR_SEQ.equalsTypeAndSubtype(format);
+        ObjectWriter objectWriter = cbor
+            ? cborObjectMapper.writer(filters)
+            : objectMapper.writer(filters).withRootValueSeparator("\n");
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<T> rows = source.get();
+                 SequenceWriter writer = objectWriter.writeValues(outputStream)) {
+                Iterator<T> iterator = rows.iterator();
+                for (int written = 1; iterator.hasNext(); written++) {
+                    writer.write(iterator.next());
+                    if (written % CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+                writer.flush();
+                if (!cbor) {
+                    outputStream.write('\n');
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+            .contentType(cbor ? APPLICATION_CBOR_SEQ : MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+}
@@ -0,0 +1,35 @@
+package com.capgemini.twilight.assessment.pagination;
+
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Runs queries whose results are read to the end as a {@link Stream}, with a JDBC fetch size that
+ * keeps the driver from buffering the whole result. Connector/J only streams with a fetch size of
+ * {@link Integer#MIN_VALUE}, row by row off the open result set: the server-side cursors a positive
+ * size needs ({@code useCursorFetch=true}) are not passed through by ProxySQL. Other drivers take the
+ * size as rows per round trip.
+ * <p>
+ * On MySQL the connection runs no other statement while such a result is open, so callers read one
+ * stream at a time and load nothing lazily while they do.
+ */
+@Component
+public class StreamingQueries {
+
+    static final int FETCH_SIZE = 500;
+
+    private final int fetchSize;
+
+    public StreamingQueries(DataSourceProperties dataSourceProperties) {
+        String url = dataSourceProperties.getUrl();
+        this.fetchSize = url != null && url.startsWith("jdbc:mysql:") ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+
+    public <T> Stream<T> stream(TypedQuery<T> query) {
+        return query.setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize).getResultStream();
+    }
+}
@@ -0,0 +1,32 @@
+package com.capgemini.twilight.assessment.responsecache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A search response as it goes over the wire.
+ *
+ * @param gzipped the body compressed, or null when it was too small to be worth it
+ */
+public record CachedResponse(String contentType, byte[] body, byte[] gzipped) {
+
+    public static CachedResponse of(String contentType, byte[] body, long compressionThreshold) {
+        return new CachedResponse(contentType, body, body.length >= compressionThreshold ? gzip(body) : null);
+    }
+
+    public int weight() {
+        return body.length + (gzipped == null ? 0 : gzipped.length);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,31 @@
+package com.capgemini.twilight.assessment.responsecache;
+
+import com.capgemini.twilight.assessment.datasource.ReadYourWritesFilter;
+import com.capgemini.twilight.assessment.datasource.ReplicaDataSourceProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "response-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    @Bean
+    public SearchResponseCache searchResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        return new SearchResponseCache(properties, meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SearchResponseCacheFilter> searchResponseCacheFilter(SearchResponseCache cache,
+                                                                                      ResponseCacheProperties properties,
+                                                                                      ReplicaDataSourceProperties replica) {
+        FilterRegistrationBean<SearchResponseCacheFilter> registration =
+            new FilterRegistrationBean<>(new SearchResponseCacheFilter(cache, properties, replica.maxLag()));
+        registration.addUrlPatterns(SearchResponseCacheFilter.BOOK_SEARCH, SearchResponseCacheFilter.AUTHOR_SEARCH);
+        // behind read-your-writes, which tells the requests that must not be answered from the cache
+        registration.setOrder(ReadYourWritesFilter.ORDER + 1);
+        return registration;
+    }
+}
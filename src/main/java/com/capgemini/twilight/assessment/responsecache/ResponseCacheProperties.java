@@ -0,0 +1,34 @@
+package com.capgemini.twilight.assessment.responsecache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * @param maximumSize          serialized bytes held at most, gzipped copies included
+ * @param expireAfterWrite     bounds how long a write that bypassed the API stays invisible
+ * @param compressionThreshold bodies at least this large are also kept gzipped
+ * @param bookQueries          {@code /book/search} queries whose responses are cached
+ * @param authorQueries        {@code /author/search} queries whose responses are cached
+ */
+@ConfigurationProperties(prefix = "response-cache")
+public record ResponseCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("16MB") DataSize maximumSize,
+    @DefaultValue("5m") Duration expireAfterWrite,
+    @DefaultValue("1KB") DataSize compressionThreshold,
+    @DefaultValue({"longest", "oldest", "last-modified"}) List<String> bookQueries,
+    @DefaultValue({"most-books", "last-modified"}) List<String> authorQueries
+) {
+
+    public List<String> queries(String path) {
+        return switch (path) {
+            case SearchResponseCacheFilter.BOOK_SEARCH -> bookQueries;
+            case SearchResponseCacheFilter.AUTHOR_SEARCH -> authorQueries;
+            default -> List.of();
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.capgemini.twilight.assessment.responsecache;
+
+import com.capgemini.twilight.assessment.author.event.AuthorChangedEvent;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized search responses, bounded by their size in bytes and evicted by Caffeine's W-TinyLFU
+ * policy. Every book or author write empties the cache twice: when it is made, so the writing
+ * transaction reads its own changes, and once it commits or rolls back, so nothing read in between
+ * survives. A response is only kept if no write happened while it was being built.
+ */
+public class SearchResponseCache {
+
+    private final Cache<ResponseKey, CachedResponse> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long invalidatedAt = System.nanoTime();
+
+    public SearchResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(properties.maximumSize().toBytes())
+            .weigher((ResponseKey key, CachedResponse response) -> response.weight())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "search.responses");
+    }
+
+    public CachedResponse get(ResponseKey key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * @return the value to pass to {@link #put} once the response is built
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Keeps a response built since {@code generation} was read, unless a write has emptied the cache
+     * in the meantime.
+     */
+    public void put(ResponseKey key, long generation, CachedResponse response) {
+        cache.put(key, response);
+        if (this.generation.get() != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * @return whether a write emptied the cache less than {@code period} ago
+     */
+    public boolean invalidatedWithin(Duration period) {
+        return System.nanoTime() - invalidatedAt < period.toNanos();
+    }
+
+    public void invalidateAll() {
+        invalidatedAt = System.nanoTime();
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        invalidateNowAndOnCompletion();
+    }
+
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        invalidateNowAndOnCompletion();
+    }
+
+    private void invalidateNowAndOnCompletion() {
+        invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAll();
+                }
+            });
+        }
+    }
+
+    /**
+     * @param path   the search endpoint
+     * @param query  every request parameter, sorted
+     * @param accept the request's Accept header, which decides the encoding
+     */
+    public record ResponseKey(String path, String query, String accept) {
+    }
+}
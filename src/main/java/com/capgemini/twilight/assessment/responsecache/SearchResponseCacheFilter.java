@@ -0,0 +1,126 @@
+package com.capgemini.twilight.assessment.responsecache;
+
+import com.capgemini.twilight.assessment.datasource.ReadYourWrites;
+import com.capgemini.twilight.assessment.responsecache.SearchResponseCache.ResponseKey;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Answers the cacheable searches from {@link SearchResponseCache}. A hit writes the stored bytes,
+ * gzipped when the client accepts it, without reaching the controller: no admission, no query and
+ * no serialization. A miss runs the controller, keeps its successful answer and sends that.
+ * <p>
+ * Requests pinned to the primary to read their client's writes skip the cache altogether. An answer
+ * read from the replica within {@code datasource.replica.max-lag} of the last write is sent but not
+ * kept, as the replica may not have caught up with that write yet.
+ */
+public class SearchResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String BOOK_SEARCH = "/book/search";
+    static final String AUTHOR_SEARCH = "/author/search";
+
+    private final SearchResponseCache cache;
+    private final ResponseCacheProperties properties;
+    private final Duration replicaMaxLag;
+
+    public SearchResponseCacheFilter(SearchResponseCache cache, ResponseCacheProperties properties,
+                                     Duration replicaMaxLag) {
+        this.cache = cache;
+        this.properties = properties;
+        this.replicaMaxLag = replicaMaxLag;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+            || !properties.queries(path(request)).contains(request.getParameter("query"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+        if (ReadYourWrites.isPinnedToPrimary()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String path = path(request);
+        ResponseKey key = new ResponseKey(path, canonicalQuery(request.getParameterMap()),
+            request.getHeader(HttpHeaders.ACCEPT) == null ? MediaType.ALL_VALUE : request.getHeader(HttpHeaders.ACCEPT));
+
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            // the handler mapping never runs, so the request metrics would not know the endpoint otherwise
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, path);
+            ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.setPathPattern(path));
+            write(request, response, cached);
+            return;
+        }
+
+        long generation = cache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || wrapper.getContentType() == null) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        CachedResponse built = CachedResponse.of(wrapper.getContentType(), wrapper.getContentAsByteArray(),
+            properties.compressionThreshold().toBytes());
+        if (!ReadYourWrites.hasReadFromReplica() || !cache.invalidatedWithin(replicaMaxLag)) {
+            cache.put(key, generation, built);
+        }
+        wrapper.resetBuffer();
+        write(request, response, built);
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cached)
+        throws IOException {
+        byte[] body = cached.body();
+        if (cached.gzipped() != null && acceptsGzip(request)) {
+            body = cached.gzipped();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+            .map(coding -> coding.trim().split(";"))
+            .anyMatch(coding -> coding[0].trim().equalsIgnoreCase("gzip")
+                && !(coding.length > 1 && coding[1].replace(" ", "").matches("q=0(\\.0*)?")));
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String canonicalQuery(Map<String, String[]> parameters) {
+        StringJoiner query = new StringJoiner("&");
+        new TreeMap<>(parameters).forEach((name, values) -> query.add(name + "=" + String.join(",", values)));
+        return query.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.capgemini.twilight.assessment.stats.controller;
+
+import com.capgemini.twilight.assessment.pagination.PaginationProperties;
+import com.capgemini.twilight.assessment.stats.dto.AuthorStats;
+import com.capgemini.twilight.assessment.stats.dto.BookStats;
+import com.capgemini.twilight.assessment.stats.service.BookRollups;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Statistics", description = "Aggregates over books and authors, served from incrementally maintained rollups")
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final BookRollups bookRollups;
+    private final PaginationProperties paginationProperties;
+
+    public StatsController(BookRollups bookRollups, PaginationProperties paginationProperties) {
+        this.bookRollups = bookRollups;
+        this.paginationProperties = paginationProperties;
+    }
+
+    @Operation(
+        summary = "Book totals, books per publication year and a page count histogram",
+        description = "The window has the same meaning as for the 'by-date' book search. Books without a "
+            + "publication date are only counted when no window is given."
+    )
+    @GetMapping
+    public BookStats getBookStats(
+        @Parameter(description = "Start of the publication date window (inclusive). Format: YYYY-MM-DD.")
+        @RequestParam(required = false) LocalDate fromDate,
+        @Parameter(description = "End of the publication date window (inclusive). Format: YYYY-MM-DD.")
+        @RequestParam(required = false) LocalDate toDate
+    ) {
+        return bookRollups.bookStats(fromDate, toDate);
+    }
+
+    @Operation(summary = "Book totals and average page count of the authors with the most books")
+    @GetMapping("/authors")
+    public List<AuthorStats> getAuthorStats(
+        @Parameter(description = "Maximum number of authors to return.")
+        @RequestParam(required = false) Integer size
+    ) {
+        return bookRollups.authorStats(paginationProperties.resolvePageSize(size));
+    }
+}
@@ -0,0 +1,9 @@
+package com.capgemini.twilight.assessment.stats.dto;
+
+public record AuthorStats(
+    Long authorId,
+    long books,
+    long totalPages,
+    Double averagePages
+) {
+}
@@ -0,0 +1,16 @@
+package com.capgemini.twilight.assessment.stats.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Book totals for a publication date window, broken down by year and by page count")
+public record BookStats(
+    long books,
+    long totalPages,
+    @Schema(description = "Average over the books that have a page count; null when none has")
+    Double averagePages,
+    List<YearStats> perYear,
+    List<PageBucket> pageHistogram
+) {
+}
@@ -0,0 +1,12 @@
+package com.capgemini.twilight.assessment.stats.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record PageBucket(
+    @Schema(description = "Smallest page count in the bucket")
+    int fromPages,
+    @Schema(description = "Largest page count in the bucket; null for the last, open-ended bucket")
+    Integer toPages,
+    long books
+) {
+}
@@ -0,0 +1,9 @@
+package com.capgemini.twilight.assessment.stats.dto;
+
+public record YearStats(
+    int year,
+    long books,
+    long totalPages,
+    Double averagePages
+) {
+}
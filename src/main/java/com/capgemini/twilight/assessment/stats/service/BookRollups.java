@@ -0,0 +1,188 @@
+package com.capgemini.twilight.assessment.stats.service;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.capgemini.twilight.assessment.book.repository.BookRepository;
+import com.capgemini.twilight.assessment.stats.dto.AuthorStats;
+import com.capgemini.twilight.assessment.stats.dto.BookStats;
+import com.capgemini.twilight.assessment.stats.dto.PageBucket;
+import com.capgemini.twilight.assessment.stats.dto.YearStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory rollups behind the {@code /stats} endpoints. They are rebuilt from a single pass over
+ * the books at startup and by a nightly job, and updated from {@link BookChangedEvent}s in between,
+ * the change being reverted when its write rolls back.
+ */
+@Component
+public class BookRollups {
+
+    private static final Logger log = LoggerFactory.getLogger(BookRollups.class);
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int bucketWidth;
+    private final int bucketCount;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RollupTables tables;
+    /** The state the rollups hold for each book changed since the rebuild started, null once deleted. */
+    private Map<Long, BookView> changedWhileRebuilding;
+
+    public BookRollups(BookRepository bookRepository, PlatformTransactionManager transactionManager,
+                       @Value("${stats.page-bucket-width:100}") int bucketWidth,
+                       @Value("${stats.page-bucket-count:20}") int bucketCount) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.bucketWidth = bucketWidth;
+        this.bucketCount = bucketCount;
+        this.tables = new RollupTables(bucketWidth, bucketCount);
+    }
+
+    public BookStats bookStats(LocalDate fromDate, LocalDate toDate) {
+        lock.readLock().lock();
+        try {
+            Rollup window = tables.window(fromDate, toDate);
+            List<YearStats> perYear = tables.perYear(fromDate, toDate).entrySet().stream()
+                .map(year -> new YearStats(year.getKey(), year.getValue().books, year.getValue().totalPages,
+                    year.getValue().averagePages()))
+                .toList();
+            List<PageBucket> histogram = new ArrayList<>(bucketCount);
+            for (int i = 0; i < bucketCount; i++) {
+                Integer toPages = i == bucketCount - 1 ? null : (i + 1) * bucketWidth - 1;
+                histogram.add(new PageBucket(i * bucketWidth, toPages, window.pageBuckets[i]));
+            }
+            return new BookStats(window.books, window.totalPages, window.averagePages(), perYear, histogram);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the {@code limit} authors with the most books, ties broken by id
+     */
+    public List<AuthorStats> authorStats(int limit) {
+        lock.readLock().lock();
+        try {
+            return tables.authors.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, Rollup>>comparingLong(author -> author.getValue().books).reversed()
+                    .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(author -> new AuthorStats(author.getKey(), author.getValue().books, author.getValue().totalPages,
+                    author.getValue().averagePages()))
+                .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recomputes every rollup from the book table. Changes arriving meanwhile are applied to the
+     * current rollups, and each changed book then replaces whatever the pass counted for it in the new
+     * ones before they take over. Replacing rather than replaying the change keeps a book right whether
+     * the pass read it before or after that change committed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedWhileRebuilding = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        RollupTables rebuilt = new RollupTables(bucketWidth, bucketCount);
+        Map<Long, BookView> counted = new HashMap<>();
+        boolean completed = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BookView> books = bookRepository.streamAllViews()) {
+                    books.forEach(book -> {
+                        rebuilt.add(book);
+                        counted.put(book.id(), rollupKey(book));
+                    });
+                }
+            });
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (completed) {
+                    changedWhileRebuilding.forEach((bookId, state) -> move(rebuilt, counted.get(bookId), state));
+                    tables = rebuilt;
+                    log.info("Book rollups rebuilt over {} books", rebuilt.total.books);
+                }
+                changedWhileRebuilding = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @EventListener
+    public void onBookChanged(BookChangedEvent event) {
+        change(event.bookId(), event.current(), rollups -> move(rollups, event.previous(), event.current()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        change(event.bookId(), event.previous(),
+                            rollups -> move(rollups, event.current(), event.previous()));
+                    }
+                }
+            });
+        }
+    }
+
+    private void change(Long bookId, BookView state, Consumer<RollupTables> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(tables);
+            if (changedWhileRebuilding != null) {
+                changedWhileRebuilding.put(bookId, state == null ? null : rollupKey(state));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The fields a book is rolled up by, so remembering it during a rebuild does not keep its title.
+     */
+    private static BookView rollupKey(BookView book) {
+        return new BookView(book.id(), null, book.pages(), book.publicationDate(), book.authorId(), null, null);
+    }
+
+    private static void move(RollupTables rollups, BookView from, BookView to) {
+        if (from != null) {
+            rollups.remove(from);
+        }
+        if (to != null) {
+            rollups.add(to);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.capgemini.twilight.assessment.stats.service;
+
+/**
+ * Running totals for one group of books. Books without a page count are counted but left out of the
+ * page totals, the average and the histogram.
+ */
+final class Rollup {
+
+    long books;
+    long booksWithPages;
+    long totalPages;
+    final long[] pageBuckets;
+
+    Rollup(int bucketCount) {
+        this.pageBuckets = new long[bucketCount];
+    }
+
+    void add(Integer pages, int bucket, int sign) {
+        books += sign;
+        if (pages != null) {
+            booksWithPages += sign;
+            totalPages += (long) sign * pages;
+            if (pageBuckets.length > 0) {
+                pageBuckets[bucket] += sign;
+            }
+        }
+    }
+
+    void add(Rollup other) {
+        books += other.books;
+        booksWithPages += other.booksWithPages;
+        totalPages += other.totalPages;
+        for (int i = 0; i < pageBuckets.length; i++) {
+            pageBuckets[i] += other.pageBuckets[i];
+        }
+    }
+
+    Double averagePages() {
+        return booksWithPages == 0 ? null : (double) totalPages / booksWithPages;
+    }
+}
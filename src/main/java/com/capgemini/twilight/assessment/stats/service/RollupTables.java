@@ -0,0 +1,120 @@
+package com.capgemini.twilight.assessment.stats.service;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Rollups per publication year, per publication day and per author. Whole years in a window are
+ * read from the yearly rollup and only the partially covered years at either end from the daily
+ * ones, so a window costs at most a couple of years' worth of days. Not thread-safe;
+ * {@link BookRollups} guards it.
+ */
+final class RollupTables {
+
+    private final int bucketWidth;
+    private final int bucketCount;
+
+    final Rollup total;
+    final NavigableMap<Integer, Rollup> years = new TreeMap<>();
+    final NavigableMap<LocalDate, Rollup> days = new TreeMap<>();
+    final Map<Long, Rollup> authors = new HashMap<>();
+
+    RollupTables(int bucketWidth, int bucketCount) {
+        this.bucketWidth = bucketWidth;
+        this.bucketCount = bucketCount;
+        this.total = new Rollup(bucketCount);
+    }
+
+    void add(BookView book) {
+        apply(book, 1);
+    }
+
+    void remove(BookView book) {
+        apply(book, -1);
+    }
+
+    /**
+     * Totals of the books published between {@code fromDate} and {@code toDate}, both inclusive and
+     * both optional. Books without a publication date only count when neither bound is given.
+     */
+    Rollup window(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null && toDate == null) {
+            return copy(total);
+        }
+        Rollup sum = new Rollup(bucketCount);
+        perYear(fromDate, toDate).values().forEach(sum::add);
+        return sum;
+    }
+
+    NavigableMap<Integer, Rollup> perYear(LocalDate fromDate, LocalDate toDate) {
+        NavigableMap<Integer, Rollup> result = new TreeMap<>();
+        if (years.isEmpty() || (fromDate != null && toDate != null && fromDate.isAfter(toDate))) {
+            return result;
+        }
+        int firstYear = fromDate != null ? fromDate.getYear() : years.firstKey();
+        int lastYear = toDate != null ? toDate.getYear() : years.lastKey();
+        if (firstYear > lastYear) {
+            return result;
+        }
+        years.subMap(firstYear, true, lastYear, true).forEach((year, rollup) -> {
+            LocalDate start = LocalDate.of(year, 1, 1);
+            LocalDate end = LocalDate.of(year, 12, 31);
+            boolean whole = (fromDate == null || !fromDate.isAfter(start)) && (toDate == null || !toDate.isBefore(end));
+            if (whole) {
+                result.put(year, copy(rollup));
+                return;
+            }
+            Rollup partial = new Rollup(bucketCount);
+            LocalDate from = fromDate != null && fromDate.isAfter(start) ? fromDate : start;
+            LocalDate to = toDate != null && toDate.isBefore(end) ? toDate : end;
+            days.subMap(from, true, to, true).values().forEach(partial::add);
+            if (partial.books > 0) {
+                result.put(year, partial);
+            }
+        });
+        return result;
+    }
+
+    int bucketWidth() {
+        return bucketWidth;
+    }
+
+    int bucketCount() {
+        return bucketCount;
+    }
+
+    private void apply(BookView book, int sign) {
+        Integer pages = book.pages();
+        int bucket = pages == null ? 0 : Math.min(Math.max(pages, 0) / bucketWidth, bucketCount - 1);
+        total.add(pages, bucket, sign);
+        LocalDate date = book.publicationDate();
+        if (date != null) {
+            update(years, date.getYear(), key -> new Rollup(bucketCount), pages, bucket, sign);
+            update(days, date, key -> new Rollup(bucketCount), pages, bucket, sign);
+        }
+        if (book.authorId() != null) {
+            update(authors, book.authorId(), key -> new Rollup(0), pages, bucket, sign);
+        }
+    }
+
+    private static <K> void update(Map<K, Rollup> rollups, K key, Function<K, Rollup> factory,
+                                   Integer pages, int bucket, int sign) {
+        Rollup rollup = rollups.computeIfAbsent(key, factory);
+        rollup.add(pages, bucket, sign);
+        if (rollup.books == 0) {
+            rollups.remove(key);
+        }
+    }
+
+    private Rollup copy(Rollup rollup) {
+        Rollup copy = new Rollup(rollup.pageBuckets.length);
+        copy.add(rollup);
+        return copy;
+    }
+}
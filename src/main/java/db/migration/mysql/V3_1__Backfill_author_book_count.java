@@ -0,0 +1,46 @@
+package db.migration.mysql;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Fills the {@code author.book_count} column added by V3 from the book table. Authors are counted in id
+ * ranges, each range committed on its own, so a row is only locked for the duration of one range rather
+ * than of a single update over the whole table. Stopped halfway, it is simply run again: every range is
+ * recounted from the books.
+ */
+public class V3_1__Backfill_author_book_count extends BaseJavaMigration {
+
+    static final int BATCH_SIZE = 1000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        // one transaction per range instead of one around the whole migration
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM author")) {
+            result.next();
+            maxId = result.getLong(1);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+            "UPDATE author a SET book_count = (SELECT COUNT(*) FROM book b WHERE b.author_id = a.id) "
+                + "WHERE a.id BETWEEN ? AND ?")) {
+            for (long fromId = 1; fromId <= maxId; fromId += BATCH_SIZE) {
+                statement.setLong(1, fromId);
+                statement.setLong(2, fromId + BATCH_SIZE - 1);
+                statement.executeUpdate();
+            }
+        }
+    }
+}
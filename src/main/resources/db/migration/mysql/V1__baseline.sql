@@ -0,0 +1,25 @@
+-- The schema as first created by Hibernate: auto-increment ids and single-column indexes.
+CREATE TABLE author (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    created_date DATETIME(6),
+    last_modified_date DATETIME(6),
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE book (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    author_id BIGINT NOT NULL,
+    created_date DATETIME(6),
+    last_modified_date DATETIME(6),
+    pages INTEGER,
+    publication_date DATE,
+    title VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT FKklnrv3weler2ftkweewlky958 FOREIGN KEY (author_id) REFERENCES author (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_author_last_modified_date ON author (last_modified_date);
+CREATE INDEX idx_book_publication_date ON book (publication_date);
+CREATE INDEX idx_book_pages ON book (pages);
+CREATE INDEX idx_book_last_modified_date ON book (last_modified_date);
@@ -0,0 +1,11 @@
+-- Ids are drawn from pooled sequences of 50, which MySQL emulates with one-row tables. The pooled optimizer
+-- takes next_val as the upper end of the next block, so it starts 50 past the highest id already handed out.
+CREATE TABLE author_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+INSERT INTO author_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM author;
+
+CREATE TABLE book_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+INSERT INTO book_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM book;
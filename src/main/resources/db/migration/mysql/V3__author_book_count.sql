@@ -0,0 +1,3 @@
+-- Stored book count; filled by V3_1 in id ranges, kept by the write endpoints and reconciled nightly afterwards.
+ALTER TABLE author ADD COLUMN book_count BIGINT NOT NULL DEFAULT 0, ALGORITHM=INSTANT;
+CREATE INDEX idx_author_book_count ON author (book_count) ALGORITHM=INPLACE LOCK=NONE;
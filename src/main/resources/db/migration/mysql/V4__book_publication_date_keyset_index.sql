@@ -0,0 +1,3 @@
+-- By-date pages are read in (publication_date, id) order; the new index serves them and replaces the old one.
+CREATE INDEX idx_book_publication_date_id ON book (publication_date, id) ALGORITHM=INPLACE LOCK=NONE;
+DROP INDEX idx_book_publication_date ON book ALGORITHM=INPLACE LOCK=NONE;
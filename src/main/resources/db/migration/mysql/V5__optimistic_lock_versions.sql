@@ -0,0 +1,2 @@
+ALTER TABLE author ADD COLUMN version BIGINT NOT NULL DEFAULT 0, ALGORITHM=INSTANT;
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0, ALGORITHM=INSTANT;
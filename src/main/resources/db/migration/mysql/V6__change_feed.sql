@@ -0,0 +1,10 @@
+CREATE TABLE change_feed (
+    id BIGINT NOT NULL,
+    entity ENUM ('AUTHOR', 'BOOK') NOT NULL,
+    entity_id BIGINT NOT NULL,
+    type ENUM ('CREATED', 'UPDATED', 'DELETED') NOT NULL,
+    payload LONGTEXT,
+    occurred_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_change_feed_occurred_at (occurred_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,24 @@
+CREATE TABLE catalog_import (
+    id VARCHAR(100) NOT NULL,
+    chunk_size INT NOT NULL,
+    status ENUM ('RUNNING', 'FAILED', 'COMPLETED') NOT NULL,
+    started_at DATETIME(6),
+    finished_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE catalog_import_chunk (
+    import_id VARCHAR(100) NOT NULL,
+    chunk_index INT NOT NULL,
+    authors_imported INT NOT NULL,
+    books_imported INT NOT NULL,
+    rejected INT NOT NULL,
+    PRIMARY KEY (import_id, chunk_index)
+) ENGINE=InnoDB;
+
+CREATE TABLE catalog_import_author (
+    import_id VARCHAR(100) NOT NULL,
+    source_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    PRIMARY KEY (import_id, source_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,8 @@
+-- Change feed offsets are reserved in blocks from this row instead of counted in memory from MAX(id),
+-- so an instance starting while the previous one still writes does not hand out offsets already taken.
+CREATE TABLE change_feed_offsets (
+    id INT NOT NULL,
+    next_offset BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+INSERT INTO change_feed_offsets (id, next_offset) SELECT 1, COALESCE(MAX(id), 0) + 1 FROM change_feed;
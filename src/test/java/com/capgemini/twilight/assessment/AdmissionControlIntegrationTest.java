@@ -0,0 +1,115 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.admission.AdaptiveLimiter;
+import com.capgemini.twilight.assessment.admission.AdmissionLimiters;
+import com.capgemini.twilight.assessment.admission.AdmissionProperties;
+import com.capgemini.twilight.assessment.admission.RequestClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:admission_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "admission.search.initial-limit=1",
+    "admission.search.min-limit=1",
+    "admission.search.max-limit=1",
+    "admission.bulk.initial-limit=1",
+    "admission.bulk.min-limit=1",
+    "admission.bulk.max-limit=1",
+    "admission.retry-after=2s"
+})
+@AutoConfigureMockMvc
+class AdmissionControlIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdmissionLimiters limiters;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testSearchBeyondItsBudgetIsShedWithoutAffectingReads() throws Exception {
+        AdaptiveLimiter search = limiters.get(RequestClass.SEARCH);
+        assertThat(search.tryAcquire()).isTrue();
+        try {
+            mockMvc.perform(get("/book/search").param("query", "longest"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.message", is("Too many concurrent search requests")));
+            mockMvc.perform(get("/book/{id}", 999_999))
+                .andExpect(status().isNotFound());
+        } finally {
+            search.release(0, false);
+        }
+
+        mockMvc.perform(get("/author/search").param("query", "most-books"))
+            .andExpect(status().isNotFound());
+        assertThat(search.inFlight()).isZero();
+        assertThat(limiters.get(RequestClass.READ).inFlight()).isZero();
+        assertThat(meterRegistry.get("admission.rejections").tag("class", "search").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testStreamsAndBatchesAreAdmittedAsBulk() throws Exception {
+        AdaptiveLimiter bulk = limiters.get(RequestClass.BULK);
+        assertThat(bulk.tryAcquire()).isTrue();
+        try {
+            // JSON as well for the error body
+            mockMvc.perform(get("/book").accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", is("Too many concurrent bulk requests")));
+            mockMvc.perform(post("/author/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isServiceUnavailable());
+            mockMvc.perform(get("/book"))
+                .andExpect(status().isOk());
+        } finally {
+            bulk.release(0, false);
+        }
+        assertThat(limiters.get(RequestClass.READ).inFlight()).isZero();
+        assertThat(limiters.get(RequestClass.WRITE).inFlight()).isZero();
+    }
+
+    @Test
+    void testLimitGrowsWhileUsedAndBacksOffOnOverload() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(
+            new AdmissionProperties.Budget(2, 1, 10, Duration.ofMillis(100)), 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(0, false);
+            limiter.release(0, false);
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(TimeUnit.SECONDS.toNanos(1), false);
+        assertThat(limiter.limit()).isEqualTo(grown / 2);
+
+        // a second slow request of the same burst does not back off again
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.release(0, true);
+        assertThat(limiter.limit()).isEqualTo(grown / 2);
+    }
+}
@@ -127,9 +127,21 @@ class AssessmentApplicationTests {
 		Author author = createAuthorApi("J.K. Rowling");
 		Book createdBook = createBookApi(author.getId(), "The Philosopher's Stone", 223, "1997-06-26");
 
-		mockMvc.perform(get("/author/" + author.getId()))
+		mockMvc.perform(get("/author/" + author.getId() + "?include=books"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.books[0].id", is(createdBook.getId().intValue())));
+
+		// the value is matched once percent-decoded
+		mockMvc.perform(put("/author/" + author.getId())
+				.queryParam("include", " books")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"name\": \"J.K. Rowling\"}"))
 			.andExpect(status().isOk())
 			.andExpect(jsonPath("$.books[0].id", is(createdBook.getId().intValue())));
+
+		mockMvc.perform(get("/author/" + author.getId()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.books").doesNotExist());
 	}
 
 	@Test
@@ -150,7 +162,81 @@ class AssessmentApplicationTests {
 
 		mockMvc.perform(get("/book/" + originalBook.getId()))
 			.andExpect(status().isOk())
-			.andExpect(jsonPath("$.title", is("Dune Messiah")));
+			.andExpect(jsonPath("$.title", is("Dune Messiah")))
+			.andExpect(jsonPath("$.authorId", is(author.getId().intValue())));
+	}
+
+	@Test
+	void testBookCountFollowsReassignAndDelete() throws Exception {
+		Author from = createAuthorApi("Original Author");
+		Author to = createAuthorApi("New Author");
+		Book book = createBookApi(from.getId(), "Moving Book", 150, "2010-01-01");
+
+		BookRequest moveRequest = new BookRequest();
+		moveRequest.setAuthorId(to.getId());
+		moveRequest.setTitle("Moving Book");
+		moveRequest.setPages(150);
+		moveRequest.setPublicationDate(LocalDate.parse("2010-01-01"));
+
+		mockMvc.perform(put("/book/" + book.getId())
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(objectMapper.writeValueAsString(moveRequest)))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/author/" + from.getId()))
+			.andExpect(jsonPath("$.bookCount", is(0)));
+		mockMvc.perform(get("/author/" + to.getId()))
+			.andExpect(jsonPath("$.bookCount", is(1)));
+		mockMvc.perform(get("/book/" + book.getId()))
+			.andExpect(jsonPath("$.authorId", is(to.getId().intValue())));
+
+		mockMvc.perform(delete("/book/" + book.getId()))
+			.andExpect(status().isNoContent());
+
+		mockMvc.perform(get("/author/" + to.getId()))
+			.andExpect(jsonPath("$.bookCount", is(0)));
+		mockMvc.perform(get("/book/" + book.getId()))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testCreateBooksInBatch() throws Exception {
+		Author author = createAuthorApi("Batch Author");
+		String batch = """
+			[
+			  {"authorId": %d, "title": "First", "pages": 100, "publicationDate": "2001-01-01"},
+			  {"authorId": 999999, "title": "Orphan", "pages": 200, "publicationDate": "2002-01-01"},
+			  {"authorId": %d, "title": "Second", "pages": 300, "publicationDate": "2003-01-01"}
+			]
+			""".formatted(author.getId(), author.getId());
+
+		mockMvc.perform(post("/book/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(batch))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(3)))
+			.andExpect(jsonPath("$[0].index", is(0)))
+			.andExpect(jsonPath("$[0].status", is(201)))
+			.andExpect(jsonPath("$[0].id", notNullValue()))
+			.andExpect(jsonPath("$[1].status", is(404)))
+			.andExpect(jsonPath("$[1].id").doesNotExist())
+			.andExpect(jsonPath("$[2].index", is(2)))
+			.andExpect(jsonPath("$[2].status", is(201)));
+
+		mockMvc.perform(get("/author/" + author.getId()))
+			.andExpect(jsonPath("$.bookCount", is(2)));
+		mockMvc.perform(get("/book/search").param("query", "longest"))
+			.andExpect(jsonPath("$.title", is("Second")));
+	}
+
+	@Test
+	void testCreateAuthorsFromNdjson() throws Exception {
+		mockMvc.perform(post("/author/batch")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.content("{\"name\": \"One\"}\n{\"name\": \"Two\"}\n"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[1].status", is(201)));
 	}
 
 	@Test
@@ -166,6 +252,41 @@ class AssessmentApplicationTests {
 			.andExpect(jsonPath("$", hasSize(3)));
 	}
 
+	@Test
+	void testGetAllBooksKeysetPagination() throws Exception {
+		Author author = createAuthorApi("Paged Author");
+		Book first = createBookApi(author.getId(), "Page Book 1", 110, "2001-01-01");
+		Book second = createBookApi(author.getId(), "Page Book 2", 120, "2002-01-01");
+		Book third = createBookApi(author.getId(), "Page Book 3", 130, "2003-01-01");
+
+		MvcResult firstPage = mockMvc.perform(get("/book?size=2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(first.getId().intValue())))
+			.andExpect(jsonPath("$[1].id", is(second.getId().intValue())))
+			.andExpect(header().exists("X-Next-Cursor"))
+			.andReturn();
+
+		mockMvc.perform(get("/book?size=2&cursor=" + firstPage.getResponse().getHeader("X-Next-Cursor")))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].id", is(third.getId().intValue())))
+			.andExpect(header().doesNotExist("X-Next-Cursor"));
+
+		mockMvc.perform(get("/book?sort=last-modified&size=2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(first.getId().intValue())))
+			.andExpect(header().exists("X-Next-Cursor"));
+
+		mockMvc.perform(get("/author?sort=last-modified&size=1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)));
+
+		mockMvc.perform(get("/book?cursor=not-a-cursor"))
+			.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	void testSearchInvalidParameter() throws Exception {
 		mockMvc.perform(get("/book/search?query=invalid-param"))
@@ -184,6 +305,12 @@ class AssessmentApplicationTests {
 		mockMvc.perform(get("/book/search?query=longest"))
 			.andExpect(status().isOk())
 			.andExpect(jsonPath("$.id", is(longest.getId().intValue())));
+
+		mockMvc.perform(get("/book/search?query=longest&limit=2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(longest.getId().intValue())))
+			.andExpect(jsonPath("$[1].pages", is(300)));
 	}
 
 	@Test
@@ -197,6 +324,25 @@ class AssessmentApplicationTests {
 			.andExpect(jsonPath("$.id", is(oldest.getId().intValue())));
 	}
 
+	@Test
+	void testFindOldestBookSkipsUndatedBooks() throws Exception {
+		Author author = createAuthorApi("Some Author");
+		BookRequest undated = new BookRequest();
+		undated.setAuthorId(author.getId());
+		undated.setTitle("Undated Book");
+		undated.setPages(100);
+		mockMvc.perform(post("/book")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(undated)))
+			.andExpect(status().isCreated());
+		Book oldest = createBookApi(author.getId(), "Oldest Book", 100, "1985-05-10");
+
+		mockMvc.perform(get("/book/search?query=oldest&limit=2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].id", is(oldest.getId().intValue())));
+	}
+
 	@Test
 	void testFindBooksByDate() throws Exception {
 		Author author = createAuthorApi("Some Author");
@@ -218,6 +364,306 @@ class AssessmentApplicationTests {
 			.andExpect(jsonPath("$", hasSize(2)));
 	}
 
+	@Test
+	void testFindBooksByTitle() throws Exception {
+		Author leGuin = createAuthorApi("Ursula Le Guin");
+		Author pratchett = createAuthorApi("Terry Pratchett");
+		Book earthsea = createBookApi(leGuin.getId(), "A Wizard of Earthsea", 200, "1968-01-01");
+		Book colour = createBookApi(pratchett.getId(), "The Colour of Magic", 210, "1983-01-01");
+		Book wyrd = createBookApi(pratchett.getId(), "Wyrd Sisters", 250, "1988-01-01");
+		Book wizardry = createBookApi(pratchett.getId(), "Magic Wizardry", 300, "1990-01-01");
+
+		mockMvc.perform(get("/book/search?query=title&text=wiz"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(earthsea.getId().intValue())))
+			.andExpect(jsonPath("$[1].id", is(wizardry.getId().intValue())));
+
+		mockMvc.perform(get("/book/search?query=title&text=MAGIC pratch&limit=1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].id", is(colour.getId().intValue())));
+
+		AuthorRequest rename = new AuthorRequest();
+		rename.setName("Sir Terry Pratchett");
+		mockMvc.perform(put("/author/" + pratchett.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(rename)))
+			.andExpect(status().isOk());
+
+		BookRequest retitle = new BookRequest();
+		retitle.setAuthorId(pratchett.getId());
+		retitle.setTitle("Weird Sisters");
+		retitle.setPages(250);
+		retitle.setPublicationDate(wyrd.getPublicationDate());
+		mockMvc.perform(put("/book/" + wyrd.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(retitle)))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/book/search?query=title&text=sir sisters"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].title", is("Weird Sisters")));
+		mockMvc.perform(get("/book/search?query=title&text=wyrd"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(0)));
+		mockMvc.perform(get("/book/search?query=title"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testBookStatistics() throws Exception {
+		Author first = createAuthorApi("First Author");
+		Author second = createAuthorApi("Second Author");
+		createBookApi(first.getId(), "Spring Book", 120, "2001-03-01");
+		createBookApi(first.getId(), "Autumn Book", 80, "2001-11-15");
+		Book thick = createBookApi(second.getId(), "Thick Book", 450, "2003-06-01");
+
+		mockMvc.perform(get("/stats"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.books", is(3)))
+			.andExpect(jsonPath("$.totalPages", is(650)))
+			.andExpect(jsonPath("$.perYear", hasSize(2)))
+			.andExpect(jsonPath("$.perYear[0].year", is(2001)))
+			.andExpect(jsonPath("$.perYear[0].books", is(2)))
+			.andExpect(jsonPath("$.perYear[0].averagePages", is(100.0)))
+			.andExpect(jsonPath("$.perYear[1].year", is(2003)))
+			.andExpect(jsonPath("$.pageHistogram", hasSize(20)))
+			.andExpect(jsonPath("$.pageHistogram[0].books", is(1)))
+			.andExpect(jsonPath("$.pageHistogram[1].books", is(1)))
+			.andExpect(jsonPath("$.pageHistogram[4].fromPages", is(400)))
+			.andExpect(jsonPath("$.pageHistogram[4].books", is(1)));
+
+		mockMvc.perform(get("/stats?fromDate=2001-06-01&toDate=2003-12-31"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.books", is(2)))
+			.andExpect(jsonPath("$.perYear[0].year", is(2001)))
+			.andExpect(jsonPath("$.perYear[0].totalPages", is(80)));
+
+		BookRequest thinner = new BookRequest();
+		thinner.setAuthorId(first.getId());
+		thinner.setTitle("Thick Book");
+		thinner.setPages(50);
+		thinner.setPublicationDate(thick.getPublicationDate());
+		mockMvc.perform(put("/book/" + thick.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(thinner)))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/stats?fromDate=2003-01-01"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.books", is(1)))
+			.andExpect(jsonPath("$.pageHistogram[0].books", is(1)))
+			.andExpect(jsonPath("$.pageHistogram[4].books", is(0)));
+
+		mockMvc.perform(get("/stats/authors"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].authorId", is(first.getId().intValue())))
+			.andExpect(jsonPath("$[0].books", is(3)))
+			.andExpect(jsonPath("$[0].totalPages", is(250)));
+	}
+
+	@Test
+	void testFindBooksByDatePagesWithCursor() throws Exception {
+		Author author = createAuthorApi("Some Author");
+		Book first = createBookApi(author.getId(), "Book 1999", 100, "1999-12-31");
+		Book second = createBookApi(author.getId(), "Book 2000", 200, "2000-01-01");
+		Book third = createBookApi(author.getId(), "Book 2000 Again", 300, "2000-01-01");
+		Book fourth = createBookApi(author.getId(), "Book 2002", 400, "2002-01-01");
+
+		MvcResult firstPage = mockMvc.perform(get("/book/search?query=by-date&limit=2"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(first.getId().intValue())))
+			.andExpect(jsonPath("$[1].id", is(second.getId().intValue())))
+			.andExpect(header().exists("X-Next-Cursor"))
+			.andReturn();
+
+		mockMvc.perform(get("/book/search?query=by-date&limit=2")
+				.param("cursor", firstPage.getResponse().getHeader("X-Next-Cursor")))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(third.getId().intValue())))
+			.andExpect(jsonPath("$[1].id", is(fourth.getId().intValue())))
+			.andExpect(header().doesNotExist("X-Next-Cursor"));
+
+		MvcResult newestFirst = mockMvc.perform(get("/book/search?query=by-date&direction=desc&limit=2&fields=id,publicationDate"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].id", is(fourth.getId().intValue())))
+			.andExpect(jsonPath("$[1].id", is(third.getId().intValue())))
+			.andExpect(jsonPath("$[0].publicationDate", is("2002-01-01")))
+			.andExpect(jsonPath("$[0].title").doesNotExist())
+			.andReturn();
+
+		mockMvc.perform(get("/book/search?query=by-date&direction=desc&fromDate=2000-01-01&fields=title")
+				.param("cursor", newestFirst.getResponse().getHeader("X-Next-Cursor")))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].title", is("Book 2000")))
+			.andExpect(jsonPath("$[0].id").doesNotExist());
+
+		// the list is split once percent-decoded
+		mockMvc.perform(get("/book/search?query=by-date&limit=1").queryParam("fields", "id, publicationDate"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].publicationDate").exists())
+			.andExpect(jsonPath("$[0].title").doesNotExist());
+
+		mockMvc.perform(get("/book/search?query=by-date&fields=isbn"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/book/search?query=by-date&direction=sideways"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testFilterBooksByCombinedCriteria() throws Exception {
+		Author tolkien = createAuthorApi("J.R.R. Tolkien");
+		Author other = createAuthorApi("Other Author");
+		Book hobbit = createBookApi(tolkien.getId(), "The Hobbit", 310, "1937-09-21");
+		Book fellowship = createBookApi(tolkien.getId(), "The Fellowship of the Ring", 423, "1954-07-29");
+		createBookApi(tolkien.getId(), "The Silmarillion", 365, "1977-09-15");
+		createBookApi(other.getId(), "The Hobbit Companion", 200, "1940-01-01");
+		Book discount = createBookApi(other.getId(), "100% Hobbit", 50, "2001-01-01");
+
+		mockMvc.perform(get("/book/search?query=filter&authorId={id}&titlePrefix=The H", tolkien.getId()))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].id", is(hobbit.getId().intValue())));
+
+		mockMvc.perform(get("/book/search?query=filter&minPages=300&maxPages=430&toDate=1970-01-01&sort=pages&direction=desc"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id", is(fellowship.getId().intValue())))
+			.andExpect(jsonPath("$[1].id", is(hobbit.getId().intValue())));
+
+		mockMvc.perform(get("/book/search?query=filter&titlePrefix=100%&sort=title&limit=1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(1)))
+			.andExpect(jsonPath("$[0].id", is(discount.getId().intValue())));
+
+		mockMvc.perform(get("/book/search?query=filter&sort=publication-date&limit=2&fields=title"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].title", is("The Hobbit")))
+			.andExpect(jsonPath("$[1].title", is("The Hobbit Companion")));
+
+		mockMvc.perform(get("/book/search?query=filter&minPages=400&maxPages=300"))
+			.andExpect(status().isBadRequest());
+		mockMvc.perform(get("/book/search?query=filter&sort=isbn"))
+			.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void testConditionalGetsAnswerNotModified() throws Exception {
+		Author author = createAuthorApi("Some Author");
+		Book book = createBookApi(author.getId(), "Some Book", 100, "2000-01-01");
+
+		MvcResult first = mockMvc.perform(get("/book/{id}", book.getId()))
+			.andExpect(status().isOk())
+			.andExpect(header().exists("ETag"))
+			.andExpect(header().exists("Last-Modified"))
+			.andReturn();
+		String bookEtag = first.getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/book/{id}", book.getId()).header("If-None-Match", bookEtag))
+			.andExpect(status().isNotModified())
+			.andExpect(content().string(""));
+		mockMvc.perform(get("/book/{id}", book.getId())
+				.header("If-Modified-Since", first.getResponse().getHeader("Last-Modified")))
+			.andExpect(status().isNotModified());
+
+		String authorEtag = mockMvc.perform(get("/author/{id}", author.getId()))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader("ETag");
+		String booksEtag = mockMvc.perform(get("/book"))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getHeader("ETag");
+		mockMvc.perform(get("/book").header("If-None-Match", booksEtag))
+			.andExpect(status().isNotModified());
+
+		BookRequest update = new BookRequest();
+		update.setTitle("Renamed Book");
+		update.setPages(120);
+		update.setPublicationDate(LocalDate.parse("2000-01-01"));
+		mockMvc.perform(put("/book/{id}", book.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(update)))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/book/{id}", book.getId()).header("If-None-Match", bookEtag))
+			.andExpect(status().isOk())
+			.andExpect(header().string("ETag", not(bookEtag)))
+			.andExpect(jsonPath("$.title", is("Renamed Book")));
+
+		createBookApi(author.getId(), "Another Book", 50, "2001-01-01");
+		mockMvc.perform(get("/author/{id}", author.getId()).header("If-None-Match", authorEtag))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.bookCount", is(2)));
+
+		mockMvc.perform(delete("/book/{id}", book.getId()))
+			.andExpect(status().isNoContent());
+		mockMvc.perform(get("/book").header("If-None-Match", booksEtag))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/book/{id}", book.getId()).header("If-None-Match", bookEtag))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void testUpdatesHonourIfMatch() throws Exception {
+		Author author = createAuthorApi("Some Author");
+		Book book = createBookApi(author.getId(), "Some Book", 100, "2000-01-01");
+		String etag = mockMvc.perform(get("/book/{id}", book.getId()))
+			.andReturn().getResponse().getHeader("ETag");
+
+		BookRequest patch = new BookRequest();
+		patch.setPages(150);
+		mockMvc.perform(patch("/book/{id}", book.getId())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(patch)))
+			.andExpect(status().isPreconditionRequired());
+
+		String patchedEtag = mockMvc.perform(patch("/book/{id}", book.getId())
+				.header("If-Match", etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(patch)))
+			.andExpect(status().isOk())
+			.andExpect(header().string("ETag", not(etag)))
+			.andExpect(jsonPath("$.title", is("Some Book")))
+			.andExpect(jsonPath("$.pages", is(150)))
+			.andExpect(jsonPath("$.publicationDate", is("2000-01-01")))
+			.andReturn().getResponse().getHeader("ETag");
+
+		BookRequest update = new BookRequest();
+		update.setTitle("Renamed Book");
+		update.setPages(150);
+		update.setPublicationDate(LocalDate.parse("2000-01-01"));
+		mockMvc.perform(put("/book/{id}", book.getId())
+				.header("If-Match", patchedEtag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(update)))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.title", is("Renamed Book")));
+
+		String authorEtag = mockMvc.perform(get("/author/{id}", author.getId()))
+			.andReturn().getResponse().getHeader("ETag");
+		AuthorRequest rename = new AuthorRequest();
+		rename.setName("Renamed Author");
+		mockMvc.perform(put("/author/{id}", author.getId())
+				.header("If-Match", authorEtag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(rename)))
+			.andExpect(status().isOk())
+			.andExpect(header().string("ETag", not(authorEtag)));
+
+		// a stale tag is refused before anything is written
+		mockMvc.perform(put("/book/{id}", book.getId())
+				.header("If-Match", etag)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(update)))
+			.andExpect(status().isPreconditionFailed());
+	}
+
 	@Test
 	void testFindAuthorWithMostBooks() throws Exception {
 		Author author1 = createAuthorApi("Author With One Book");
@@ -228,7 +674,8 @@ class AssessmentApplicationTests {
 
 		mockMvc.perform(get("/author/search?query=most-books"))
 			.andExpect(status().isOk())
-			.andExpect(jsonPath("$.id", is(author2.getId().intValue())));
+			.andExpect(jsonPath("$.id", is(author2.getId().intValue())))
+			.andExpect(jsonPath("$.bookCount", is(2)));
 	}
 
 	@Test
@@ -0,0 +1,195 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.book.model.Book;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthorFetchPlanIntegrationTest {
+
+    private static final int AUTHOR_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private Long firstAuthorId;
+
+    private Long lastAuthorId;
+
+    @BeforeEach
+    void setUp() {
+        // the cache regions are shared by every test context in the JVM, including those on other databases
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        for (int i = 0; i < AUTHOR_COUNT; i++) {
+            Author author = new Author();
+            author.setName("Author " + i);
+            for (int j = 0; j < 3; j++) {
+                Book book = new Book();
+                book.setTitle("Book " + i + "." + j);
+                book.setPages(100 + j);
+                book.setPublicationDate(LocalDate.of(2000 + j, 1, 1));
+                author.addBook(book);
+            }
+            Author saved = authorRepository.save(author);
+            if (firstAuthorId == null) {
+                firstAuthorId = saved.getId();
+            }
+            lastAuthorId = saved.getId();
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        authorRepository.deleteAll();
+    }
+
+    @Test
+    void testGetAllAuthorsWithoutBooksRunsSingleStatement() throws Exception {
+        mockMvc.perform(get("/author"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(AUTHOR_COUNT)))
+            .andExpect(jsonPath("$[0].books").doesNotExist());
+
+        // the page, plus the collection version behind the ETag
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void testGetAllAuthorsWithBooksBatchFetchesCollections() throws Exception {
+        mockMvc.perform(get("/author?include=books"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(AUTHOR_COUNT)))
+            .andExpect(jsonPath("$[0].books", hasSize(3)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void testGetAuthorByIdWithBooksUsesJoinFetch() throws Exception {
+        mockMvc.perform(get("/author/" + firstAuthorId + "?include=books"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.books", hasSize(3)));
+
+        // the version query, then the join fetch
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testConditionalGetOfAuthorWithBooksRunsOnlyVersionQuery() throws Exception {
+        String etag = mockMvc.perform(get("/author/" + firstAuthorId + "?include=books"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        statistics.clear();
+
+        mockMvc.perform(get("/author/" + firstAuthorId + "?include=books").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void testGetAuthorByIdIsServedFromSecondLevelCacheUntilUpdated() throws Exception {
+        mockMvc.perform(get("/author/" + firstAuthorId))
+            .andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(get("/author/" + firstAuthorId))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name", is("Author 0")));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "author").tag("result", "hit").functionCounter().count())
+            .isPositive();
+
+        mockMvc.perform(put("/author/" + firstAuthorId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Renamed\"}"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/author/" + firstAuthorId))
+            .andExpect(jsonPath("$.name", is("Renamed")));
+    }
+
+    @Test
+    void testNewBookOnlyEvictsItsOwnAuthorFromSecondLevelCache() throws Exception {
+        mockMvc.perform(get("/author/" + firstAuthorId))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/author/" + lastAuthorId))
+            .andExpect(status().isOk());
+        // the seeded books bypass the counter, so every author counts none and the tie goes to the highest id
+        mockMvc.perform(get("/author/search?query=most-books"))
+            .andExpect(jsonPath("$.id", is(lastAuthorId.intValue())));
+
+        String created = mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"One More\", \"pages\": 10, \"authorId\": " + firstAuthorId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        statistics.clear();
+
+        mockMvc.perform(get("/author/" + lastAuthorId))
+            .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+
+        mockMvc.perform(get("/author/" + firstAuthorId))
+            .andExpect(jsonPath("$.bookCount", is(1)));
+        mockMvc.perform(get("/author/search?query=most-books"))
+            .andExpect(jsonPath("$.id", is(firstAuthorId.intValue())));
+
+        // through the API, so that the in-memory search structures forget it too
+        mockMvc.perform(delete("/book/" + created.replaceAll("^\\{\"id\":(\\d+).*", "$1")))
+            .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void testSearchAuthorWithoutBooksRunsSingleStatement() throws Exception {
+        mockMvc.perform(get("/author/search?query=last-modified"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.books").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
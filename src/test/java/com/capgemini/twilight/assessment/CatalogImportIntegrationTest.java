@@ -0,0 +1,199 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.catalog.dto.CatalogRecord;
+import com.capgemini.twilight.assessment.catalog.model.CatalogImport;
+import com.capgemini.twilight.assessment.catalog.model.ImportStatus;
+import com.capgemini.twilight.assessment.catalog.repository.CatalogImportRepository;
+import com.capgemini.twilight.assessment.catalog.service.CatalogImporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on its own database, with chunks of two lines so that every catalog spans several chunks:
+ * the export reads in its own transaction, which only sees committed rows, and the assertions count
+ * what the imports of this class wrote.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:catalog_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "catalog.chunk-size=2",
+    "catalog.workers=2",
+    "catalog.queue-capacity=2"
+})
+@AutoConfigureMockMvc
+class CatalogImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogImporter catalogImporter;
+
+    @Autowired
+    private CatalogImportRepository catalogImportRepository;
+
+    @Test
+    void testImportReportsRejectedLinesAndIsNotRepeated() throws Exception {
+        String catalog = catalog("Plain");
+
+        mockMvc.perform(post("/catalog/import").param("id", "plain")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(catalog))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.authorsImported").value(2))
+            .andExpect(jsonPath("$.booksImported").value(3))
+            .andExpect(jsonPath("$.rejected").value(3))
+            .andExpect(jsonPath("$.rejections", containsInAnyOrder(
+                is("line 6: author 9 is not part of the import"),
+                startsWith("line 7: malformed: Unrecognized token 'not'"),
+                is("line 8: title is required"))));
+
+        mockMvc.perform(post("/catalog/import").param("id", "plain")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(catalog))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.booksImported").value(3))
+            .andExpect(jsonPath("$.rejections", empty()));
+
+        assertThat(export()).filteredOn(record -> "Plain Book A".equals(record.title())).hasSize(1);
+    }
+
+    @Test
+    void testInterruptedImportResumesAfterTheLastCommittedChunk() throws Exception {
+        String catalog = catalog("Resumed");
+        String firstLines = String.join("\n", catalog.lines().limit(5).toList()) + "\n";
+        InputStream interrupted = new SequenceInputStream(
+            new ByteArrayInputStream(firstLines.getBytes(StandardCharsets.UTF_8)),
+            new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    throw new IOException("Connection reset");
+                }
+            });
+
+        assertThatThrownBy(() -> catalogImporter.importCatalog("resumed", interrupted))
+            .isInstanceOf(UncheckedIOException.class);
+        assertThat(catalogImportRepository.findById("resumed")).get()
+            .extracting(CatalogImport::getStatus).isEqualTo(ImportStatus.FAILED);
+        assertThat(catalogImportRepository.findCompletedChunks("resumed")).containsExactlyInAnyOrder(0, 1);
+
+        mockMvc.perform(post("/catalog/import").param("id", "resumed")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .content(gzip(catalog)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.authorsImported").value(2))
+            .andExpect(jsonPath("$.booksImported").value(3))
+            .andExpect(jsonPath("$.rejected").value(3));
+
+        List<CatalogRecord> exported = export();
+        assertThat(exported).filteredOn(record -> record.title() != null && record.title().startsWith("Resumed"))
+            .extracting(CatalogRecord::title)
+            .containsExactlyInAnyOrder("Resumed Book A", "Resumed Book B", "Resumed Book C");
+    }
+
+    @Test
+    void testExportIsImportedAsAnEqualCatalog() throws Exception {
+        mockMvc.perform(post("/catalog/import").param("id", "source")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(catalog("Exported")))
+            .andExpect(status().isOk());
+
+        List<CatalogRecord> exported = export();
+        CatalogRecord author = exported.stream()
+            .filter(record -> "Exported Author One".equals(record.name()))
+            .findFirst().orElseThrow();
+        assertThat(exported).filteredOn(record -> author.id().equals(record.authorId()))
+            .extracting(CatalogRecord::title)
+            .containsExactlyInAnyOrder("Exported Book A", "Exported Book C");
+        mockMvc.perform(get("/author/" + author.id()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.bookCount").value(2));
+
+        StringBuilder ndjson = new StringBuilder();
+        for (CatalogRecord record : exported) {
+            ndjson.append(objectMapper.writeValueAsString(record)).append('\n');
+        }
+        mockMvc.perform(post("/catalog/import").param("id", "copy")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.authorsImported").value(exported.stream().filter(CatalogRecord::isAuthor).count()))
+            .andExpect(jsonPath("$.booksImported").value(exported.stream().filter(CatalogRecord::isBook).count()))
+            .andExpect(jsonPath("$.rejected").value(0));
+    }
+
+    /**
+     * Two authors and their books, followed by a book of an author that is not in the file, a
+     * malformed line and a book without a title.
+     */
+    private static String catalog(String prefix) {
+        return String.join("\n",
+            "{\"type\":\"author\",\"id\":1,\"name\":\"" + prefix + " Author One\"}",
+            "{\"type\":\"author\",\"id\":2,\"name\":\"" + prefix + " Author Two\"}",
+            "{\"type\":\"book\",\"id\":10,\"authorId\":1,\"title\":\"" + prefix + " Book A\",\"pages\":120,\"publicationDate\":\"2001-02-03\"}",
+            "{\"type\":\"book\",\"id\":11,\"authorId\":2,\"title\":\"" + prefix + " Book B\",\"pages\":240}",
+            "{\"type\":\"book\",\"id\":12,\"authorId\":1,\"title\":\"" + prefix + " Book C\"}",
+            "{\"type\":\"book\",\"id\":13,\"authorId\":9,\"title\":\"" + prefix + " Orphan\"}",
+            "not json",
+            "{\"type\":\"book\",\"id\":14,\"authorId\":2}") + "\n";
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<CatalogRecord> export() throws Exception {
+        MvcResult result = mockMvc.perform(get("/catalog/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        List<CatalogRecord> records = new ArrayList<>();
+        for (String line : body.lines().filter(line -> !line.isBlank()).toList()) {
+            records.add(objectMapper.readValue(line, CatalogRecord.class));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,115 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.changefeed.controller.ChangeFeedController;
+import com.capgemini.twilight.assessment.changefeed.service.ChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on its own database: the feed only shows committed changes. The buffer holds two changes so
+ * that reading from the start goes to the outbox table.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:change_feed_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "change-feed.buffer-capacity=2"
+})
+@AutoConfigureMockMvc
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Test
+    void testChangesAreReadInOrderByPollAndStream() throws Exception {
+        long start = changeFeed.horizon();
+        MvcResult stream = mockMvc.perform(get("/changes/stream").param("since", Long.toString(start)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        long authorId = createdId(mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Feed Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn());
+        long bookId = createdId(mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Feed Book\", \"pages\": 10, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn());
+        mockMvc.perform(put("/book/" + bookId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Feed Book, Revised\", \"pages\": 12}"))
+            .andExpect(status().isOk());
+
+        MvcResult poll = mockMvc.perform(get("/changes").param("since", Long.toString(start)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(poll))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[0].entity", is("AUTHOR")))
+            .andExpect(jsonPath("$[0].type", is("CREATED")))
+            .andExpect(jsonPath("$[0].payload.name", is("Feed Author")))
+            .andExpect(jsonPath("$[1].entity", is("BOOK")))
+            .andExpect(jsonPath("$[1].entityId", is((int) bookId)))
+            .andExpect(jsonPath("$[2].type", is("UPDATED")))
+            .andExpect(jsonPath("$[2].payload.title", is("Feed Book, Revised")))
+            .andExpect(header().string(ChangeFeedController.NEXT_OFFSET_HEADER, Long.toString(start + 3)));
+
+        // older than the in-memory buffer: served from the outbox table
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/changes").param("since", Long.toString(start)).param("limit", "1"))
+                .andReturn()))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].offset", is((int) start + 1)));
+
+        MvcResult waiting = mockMvc.perform(get("/changes").param("since", Long.toString(start + 3)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThatThrownBy(() -> waiting.getAsyncResult(100)).isInstanceOf(IllegalStateException.class);
+        mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Late Author\"}"))
+            .andExpect(status().isCreated());
+        mockMvc.perform(asyncDispatch(waiting))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].payload.name", is("Late Author")));
+
+        String events = awaitContent(stream, "Late Author");
+        assertThat(events).contains("event:changes", "Feed Author", "Feed Book, Revised", "id:" + (start + 4));
+    }
+
+    private static long createdId(MvcResult result) throws Exception {
+        return Long.parseLong(result.getResponse().getContentAsString().replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+    }
+
+    private static String awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
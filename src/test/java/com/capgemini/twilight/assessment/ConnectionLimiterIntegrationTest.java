@@ -0,0 +1,50 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.datasource.ConcurrencyLimitedDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:connection_limiter_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "datasource.limiter.max-concurrent=1",
+    "datasource.limiter.acquire-timeout=0ms"
+})
+@AutoConfigureMockMvc
+class ConnectionLimiterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testRequestBeyondLimitIsRejectedWithRetryAfter() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConcurrencyLimitedDataSource.class);
+
+        try (Connection ignored = dataSource.getConnection()) {
+            mockMvc.perform(get("/author/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.message", is("More than 1 concurrent database requests")));
+        }
+
+        assertThat(((ConcurrencyLimitedDataSource) dataSource).availablePermits()).isEqualTo(1);
+        mockMvc.perform(get("/author/1"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -2,6 +2,7 @@ package com.capgemini.twilight.assessment.aspect;
 
 import com.capgemini.twilight.assessment.author.dto.AuthorRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,7 +20,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = "tracing.sample-rate=1")
 @AutoConfigureMockMvc
 @ExtendWith(OutputCaptureExtension.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -31,6 +32,9 @@ class LoggingAspectIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private AuthorRequest authorRequest;
 
     @BeforeEach
@@ -55,6 +59,22 @@ class LoggingAspectIntegrationTest {
         );
     }
 
+    @Test
+    void testResultIsSummarizedAndCallIsTimed(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/author"))
+            .andExpect(status().isOk());
+
+        assertThat(output.toString()).contains(
+            "<== Exit: com.capgemini.twilight.assessment.author.controller.AuthorController.getAllAuthors() "
+                + "with result = ResponseEntity[status=200, body="
+        );
+        assertThat(meterRegistry.get(LoggingAspect.TIMER_NAME)
+            .tag("class", "AuthorController")
+            .tag("method", "getAllAuthors")
+            .timer()
+            .count()).isEqualTo(1);
+    }
+
     @Test
     void testLogAfterThrowingAdviceIsApplied(CapturedOutput output) throws Exception {
         long nonExistentId = 999L;
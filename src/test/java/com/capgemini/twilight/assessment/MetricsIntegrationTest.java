@@ -0,0 +1,77 @@
+package com.capgemini.twilight.assessment;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs in its own context so that the meters only count this test's requests.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:metrics_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testSearchesPoolAndHibernateAreMeasured() throws Exception {
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Measured Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long authorId = Long.parseLong(author.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        for (int pages = 10; pages <= 30; pages += 10) {
+            mockMvc.perform(post("/book")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Book " + pages + "\", \"pages\": " + pages + ", \"authorId\": " + authorId + "}"))
+                .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/book/search").param("query", "longest").param("limit", "2"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/book/search").param("query", "filter").param("minPages", "20").param("maxPages", "10"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/author/search").param("query", "most-books"))
+            .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("search.duration")
+            .tags("entity", "book", "query", "longest", "exception", "none")
+            .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("search.duration")
+            .tags("entity", "book", "query", "filter", "exception", "InvalidRequestException")
+            .timer().count()).isEqualTo(1);
+        DistributionSummary longest = meterRegistry.get("search.results")
+            .tags("entity", "book", "query", "longest")
+            .summary();
+        assertThat(longest.totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("search.results")
+            .tags("entity", "author", "query", "most-books")
+            .summary().totalAmount()).isEqualTo(1);
+
+        DistributionSummary allocation = meterRegistry.get("http.server.requests.allocation")
+            .tags("method", "GET", "uri", "/book/search")
+            .summary();
+        assertThat(allocation.count()).isEqualTo(2);
+        assertThat(allocation.totalAmount()).isPositive();
+
+        assertThat(meterRegistry.get("hibernate.statements").tag("status", "prepared").functionCounter().count())
+            .isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.pending").gauge().value()).isZero();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().count()).isPositive();
+    }
+}
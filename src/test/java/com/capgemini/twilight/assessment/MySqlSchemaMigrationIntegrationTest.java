@@ -0,0 +1,106 @@
+package com.capgemini.twilight.assessment;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the MySQL scripts, which no other test does, against a MySQL server and lets Hibernate validate
+ * the result with the MySQL dialect. Needs Docker; skipped without it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.MySQLDialect",
+    "spring.flyway.enabled=true"
+})
+@AutoConfigureMockMvc
+class MySqlSchemaMigrationIntegrationTest {
+
+    @Container
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0")
+        .withUsername("root");
+
+    /**
+     * Set as properties rather than through a service connection: the primary data source is built from
+     * {@code DataSourceProperties} by {@code ReadWriteSplitConfig}.
+     */
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+        registry.add("spring.datasource.driver-class-name", MYSQL::getDriverClassName);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void testMigratedSchemaMatchesTheEntities() throws Exception {
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM flyway_schema_history WHERE type = 'SQL' ORDER BY installed_rank", String.class))
+            .containsExactly("1", "2", "3", "4", "5", "6", "7", "8");
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM flyway_schema_history WHERE type = 'JDBC'", String.class))
+            .containsExactly("3.1");
+
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Migrated Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long authorId = Long.parseLong(author.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Migrated Book\", \"pages\": 10, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated());
+
+        assertThat(flyway.migrate().migrationsExecuted).isZero();
+    }
+
+    /**
+     * Migrates a second schema up to the auto-increment baseline, fills it the way a database created
+     * before the migrations would be, and checks what the later scripts derive from the existing rows.
+     */
+    @Test
+    void testMigrationsCarryExistingRowsOver() {
+        Flyway.configure().dataSource(dataSource).schemas("existing_db")
+            .locations("classpath:db/migration/mysql").target("1").load().migrate();
+        jdbcTemplate.update("INSERT INTO existing_db.author (id, name) VALUES (1, 'One'), (2, 'Two'), (70, 'Seventy')");
+        jdbcTemplate.update("INSERT INTO existing_db.book (id, author_id, title) VALUES (1, 1, 'A'), (2, 1, 'B'), (3, 2, 'C')");
+
+        Flyway.configure().dataSource(dataSource).schemas("existing_db")
+            .locations("classpath:db/migration/mysql").load().migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT book_count FROM existing_db.author ORDER BY id", Long.class))
+            .containsExactly(2L, 1L, 0L);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM existing_db.author_seq", Long.class))
+            .isEqualTo(120L);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM existing_db.book_seq", Long.class))
+            .isEqualTo(53L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.book.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on its own database: a concurrent writer is simulated by moving a book's version behind the
+ * second-level cache's back, which only a committed row makes visible.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:optimistic_locking_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class OptimisticLockingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private long authorId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        authorId = createdId(mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Versioned Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn());
+    }
+
+    @Test
+    void testPatchOfCachedBookOnlyUpdatesIt() throws Exception {
+        long bookId = createBook("Cached Book");
+        String etag = mockMvc.perform(get("/book/{id}", bookId))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+        statistics.clear();
+        mockMvc.perform(patch("/book/{id}", bookId)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"pages\": 42}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pages", is(42)))
+            .andExpect(jsonPath("$.title", is("Cached Book")));
+
+        EntityStatistics books = statistics.getEntityStatistics(Book.class.getName());
+        assertThat(books.getLoadCount()).isZero();
+        assertThat(books.getUpdateCount()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT pages FROM book WHERE id = ?", Integer.class, bookId))
+            .isEqualTo(42);
+    }
+
+    @Test
+    void testConcurrentUpdateIsRetriedUnlessConditional() throws Exception {
+        long conditionalId = createBook("Conditional Book");
+        long retriedId = createBook("Retried Book");
+        String etag = mockMvc.perform(get("/book/{id}", conditionalId))
+            .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/book/{id}", retriedId))
+            .andExpect(status().isOk());
+
+        jdbcTemplate.update("UPDATE book SET version = version + 1 WHERE id IN (?, ?)", conditionalId, retriedId);
+
+        mockMvc.perform(put("/book/{id}", conditionalId)
+                .header("If-Match", etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Lost Update\", \"pages\": 1}"))
+            .andExpect(status().isPreconditionFailed());
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM book WHERE id = ?", String.class, conditionalId))
+            .isEqualTo("Conditional Book");
+
+        mockMvc.perform(put("/book/{id}", retriedId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Last Write\", \"pages\": 1}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title", is("Last Write")));
+        assertThat(jdbcTemplate.queryForObject("SELECT version FROM book WHERE id = ?", Long.class, retriedId))
+            .isEqualTo(2);
+    }
+
+    private long createBook(String title) throws Exception {
+        return createdId(mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"" + title + "\", \"pages\": 10, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn());
+    }
+
+    private static long createdId(MvcResult result) throws Exception {
+        return Long.parseLong(result.getResponse().getContentAsString().replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.changefeed.service.ChangeFeed;
+import com.capgemini.twilight.assessment.datasource.ReadYourWritesFilter;
+import com.capgemini.twilight.assessment.datasource.ReplicationLagMonitor;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two separate in-memory databases stand in for the primary and the replica. Nothing replicates
+ * between them, so whichever one a read was served from shows in the result. The replica only
+ * reports a lag, and so only comes into rotation, once the schema has been copied over. The change
+ * feed buffer holds two changes so that reading from the start goes to the outbox table.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:assessment_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "datasource.replica.url=jdbc:h2:mem:assessment_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "datasource.replica.lag-query=SELECT 0 AS seconds_behind_source FROM information_schema.tables WHERE table_name = 'author'",
+    // so every search shows the database that answered it
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "change-feed.buffer-capacity=2"
+})
+@AutoConfigureMockMvc
+class ReadWriteSplitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicationLagMonitor lagMonitor;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @BeforeEach
+    void resetDatabases() {
+        new JdbcTemplate(primaryDataSource).update("DELETE FROM author");
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class).stream()
+            .filter(statement -> !statement.startsWith("--"))
+            .forEach(replica::execute);
+    }
+
+    @Test
+    void testReadsGoToReplicaUnlessClientJustWrote() throws Exception {
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+
+        Cookie lastWrite = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Primary Only\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(lastWrite).isNotNull();
+
+        mockMvc.perform(get("/author"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/author").cookie(lastWrite))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name", is("Primary Only")));
+
+        Cookie expired = new Cookie(ReadYourWritesFilter.COOKIE_NAME, "0");
+        mockMvc.perform(get("/author").cookie(expired))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testCachedSearchesDoNotKeepLaggingReplicaAnswers() throws Exception {
+        lagMonitor.check();
+
+        MockHttpServletResponse created = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Fresh Name\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse();
+        Cookie lastWrite = created.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        long authorId = Long.parseLong(created.getContentAsString().replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        Map<String, Object> author = new JdbcTemplate(primaryDataSource)
+            .queryForMap("SELECT * FROM author WHERE id = ?", authorId);
+        author.put("name", "Stale Name");
+        new SimpleJdbcInsert(replicaDataSource).withTableName("author").execute(author);
+
+        mockMvc.perform(get("/author/search").param("query", "last-modified"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name", is("Stale Name")));
+        mockMvc.perform(get("/author/search").param("query", "last-modified").cookie(lastWrite))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name", is("Fresh Name")));
+
+        new JdbcTemplate(replicaDataSource).update("UPDATE author SET name = 'Fresh Name'");
+        mockMvc.perform(get("/author/search").param("query", "last-modified"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name", is("Fresh Name")));
+    }
+
+    @Test
+    void testChangeFeedReadsTheOutboxOnThePrimary() throws Exception {
+        lagMonitor.check();
+        assertThat(lagMonitor.isReplicaUsable()).isTrue();
+
+        long start = changeFeed.horizon();
+        for (String name : new String[] {"First Change", "Second Change", "Third Change"}) {
+            mockMvc.perform(post("/author")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\": \"" + name + "\"}"))
+                .andExpect(status().isCreated());
+        }
+
+        // older than the buffer, and the replica has none of it
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/changes").param("since", Long.toString(start))).andReturn()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[0].payload.name", is("First Change")));
+    }
+}
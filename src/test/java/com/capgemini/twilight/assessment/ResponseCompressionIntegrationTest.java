@@ -0,0 +1,64 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.author.model.Author;
+import com.capgemini.twilight.assessment.author.repository.AuthorRepository;
+import com.capgemini.twilight.assessment.book.model.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on its own database, behind a real server: the compression is Tomcat's, which the mock MVC
+ * tests never reach.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.datasource.url=jdbc:h2:mem:compression_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+)
+class ResponseCompressionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Test
+    void testBookPagesAreGzipped() throws Exception {
+        Author author = new Author();
+        author.setName("Prolific Author");
+        for (int i = 0; i < 50; i++) {
+            Book book = new Book();
+            book.setTitle("Book " + i);
+            book.setPages(100 + i);
+            book.setPublicationDate(LocalDate.of(2000, 1, 1).plusDays(i));
+            author.addBook(book);
+        }
+        authorRepository.save(author);
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/book"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+        assertThat(response.headers().firstValue(HttpHeaders.ETAG)).hasValueSatisfying(tag -> assertThat(tag).startsWith("W/\""));
+        String page = new String(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes(), StandardCharsets.UTF_8);
+        assertThat(page).contains("\"title\":\"Book 49\"");
+    }
+}
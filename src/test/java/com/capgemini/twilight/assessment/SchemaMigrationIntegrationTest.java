@@ -0,0 +1,91 @@
+package com.capgemini.twilight.assessment;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.exception.FlywayValidateException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Builds its own database from the migration scripts alone and lets Hibernate only validate the result,
+ * the way the application starts against MySQL.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:schema_migration_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "spring.flyway.enabled=true"
+})
+@AutoConfigureMockMvc
+class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void testMigratedSchemaMatchesTheEntities() throws Exception {
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM flyway_schema_history WHERE type = 'SQL' ORDER BY installed_rank", String.class))
+            .containsExactly("1", "2", "3", "4", "5", "6", "7", "8");
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM flyway_schema_history WHERE type = 'JDBC'", String.class))
+            .containsExactly("3.1");
+
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Migrated Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long authorId = Long.parseLong(author.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Migrated Book\", \"pages\": 10, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated());
+
+        assertThat(flyway.migrate().migrationsExecuted).isZero();
+    }
+
+    @Test
+    void testBookCountsAreBackfilledInEveryIdRange() {
+        Flyway.configure().dataSource(dataSource).schemas("existing_db")
+            .locations("classpath:db/migration/h2").target("2").load().migrate();
+        jdbcTemplate.update("INSERT INTO existing_db.author (id, name) VALUES (1, 'One'), (2, 'Two'), (1500, 'Fifteen Hundred')");
+        jdbcTemplate.update("INSERT INTO existing_db.book (id, author_id, title) VALUES (1, 1, 'A'), (2, 1, 'B'), (3, 1500, 'C')");
+
+        Flyway.configure().dataSource(dataSource).schemas("existing_db")
+            .locations("classpath:db/migration/h2").load().migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT book_count FROM existing_db.author ORDER BY id", Long.class))
+            .containsExactly(2L, 0L, 1L);
+    }
+
+    @Test
+    void testEditedMigrationStopsTheStartup() {
+        Integer checksum = jdbcTemplate.queryForObject("SELECT checksum FROM flyway_schema_history WHERE version = '3'", Integer.class);
+        jdbcTemplate.update("UPDATE flyway_schema_history SET checksum = ? WHERE version = '3'", checksum + 1);
+        try {
+            assertThatThrownBy(flyway::migrate)
+                .isInstanceOf(FlywayValidateException.class)
+                .hasMessageContaining("checksum mismatch for migration version 3");
+        } finally {
+            jdbcTemplate.update("UPDATE flyway_schema_history SET checksum = ? WHERE version = '3'", checksum);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.capgemini.twilight.assessment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on its own database and meters, and compresses every cached body so that small test
+ * responses are gzipped too.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:response_cache_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "response-cache.compression-threshold=0B"
+})
+@AutoConfigureMockMvc
+class SearchResponseCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testCachedSearchIsServedWithoutTheControllerUntilAWrite() throws Exception {
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Cached Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long authorId = Long.parseLong(author.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        String book = mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Short Book\", \"pages\": 10, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long bookId = Long.parseLong(book.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Long Book\", \"pages\": 500, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated());
+
+        byte[] built = mockMvc.perform(get("/book/search").param("query", "longest"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title", is("Long Book")))
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] cached = mockMvc.perform(get("/book/search").param("query", "longest"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.VARY, "Accept, Accept-Encoding"))
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] gzipped = mockMvc.perform(get("/book/search").param("query", "longest")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(cached).isEqualTo(built);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(gzipped)).readAllBytes()).isEqualTo(built);
+        assertThat(longestSearches()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "search.responses", "result", "hit")
+            .functionCounter().count()).isEqualTo(2);
+
+        mockMvc.perform(put("/book/{id}", bookId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Short Book\", \"pages\": 1000, \"authorId\": " + authorId + "}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/book/search").param("query", "longest"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title", is("Short Book")));
+        assertThat(longestSearches()).isEqualTo(2);
+    }
+
+    @Test
+    void testErrorsAndOtherQueriesAreNotCached() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/book/search").param("query", "oldest").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/book/search").param("query", "filter").param("minPages", "1"))
+                .andExpect(status().isOk());
+        }
+
+        assertThat(meterRegistry.get("search.duration").tags("entity", "book", "query", "oldest", "exception", "InvalidRequestException")
+            .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("search.duration").tags("entity", "book", "query", "filter", "exception", "none")
+            .timer().count()).isEqualTo(2);
+    }
+
+    private long longestSearches() {
+        return meterRegistry.get("search.duration").tags("entity", "book", "query", "longest", "exception", "none").timer().count();
+    }
+}
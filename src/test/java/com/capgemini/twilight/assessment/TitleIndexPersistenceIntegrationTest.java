@@ -0,0 +1,154 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.book.event.BookChangedEvent;
+import com.capgemini.twilight.assessment.book.service.index.TitleIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on its own database: the rows written here are committed.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:title_index_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+class TitleIndexPersistenceIntegrationTest {
+
+    @TempDir
+    static Path indexDirectory;
+
+    @DynamicPropertySource
+    static void indexDirectory(DynamicPropertyRegistry registry) {
+        registry.add("book.title-index.directory", indexDirectory::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TitleIndex titleIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testRestartLoadsSegmentAndCatchesUpOnRecentChanges() throws Exception {
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Segment Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long authorId = Long.parseLong(author.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Persisted Title\", \"pages\": 10, \"publicationDate\": \"2020-01-01\", \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated());
+
+        titleIndex.snapshot();
+        assertThat(indexDirectory.resolve("title-index.seg")).isRegularFile();
+        assertThat(Files.size(indexDirectory.resolve("title-index.seg"))).isPositive();
+
+        insertBehindApi(900_001L, "Ghost Written Long Ago", authorId, Instant.parse("2000-01-01T00:00:00Z"));
+        insertBehindApi(900_002L, "Fresh Behind The Api", authorId, Instant.now());
+        titleIndex.load();
+
+        assertThat(titleIndex.search("persisted", 10)).hasSize(1);
+        assertThat(titleIndex.search("fresh", 10)).containsExactly(900_002L);
+        assertThat(titleIndex.search("ghost", 10)).isEmpty();
+        assertThat(titleIndex.search("segment", 10)).hasSize(2);
+    }
+
+    @Test
+    void testRestartDropsBooksDeletedSinceTheSegment() throws Exception {
+        long authorId = createAuthor("Deletion Author");
+        long deletedByApi = createBook("Doomed By Api", authorId);
+        insertBehindApi(900_011L, "Doomed Behind Api", authorId, Instant.now());
+        titleIndex.load();
+        assertThat(titleIndex.search("doomed", 10)).hasSize(2);
+
+        titleIndex.snapshot();
+        mockMvc.perform(delete("/book/{id}", deletedByApi))
+            .andExpect(status().isNoContent());
+        jdbcTemplate.update("DELETE FROM book WHERE id = ?", 900_011L);
+        titleIndex.load();
+
+        assertThat(titleIndex.search("doomed", 10)).isEmpty();
+        assertThat(titleIndex.search("deletion", 10)).isEmpty();
+    }
+
+    @Test
+    void testSegmentLeavesOutChangesThatRollBack() throws Exception {
+        long authorId = createAuthor("Rollback Author");
+        long bookId = createBook("Steady Title", authorId);
+        // old enough for the catch-up to skip the row
+        Instant longAgo = Instant.parse("2000-01-01T00:00:00Z");
+        jdbcTemplate.update("UPDATE book SET last_modified_date = ? WHERE id = ?", Timestamp.from(longAgo), bookId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            LocalDate published = LocalDate.of(2020, 1, 1);
+            eventPublisher.publishEvent(BookChangedEvent.updated(
+                new BookView(bookId, "Steady Title", 10, published, authorId, longAgo, longAgo),
+                new BookView(bookId, "Phantom Title", 10, published, authorId, longAgo, Instant.now())));
+            titleIndex.snapshot();
+            status.setRollbackOnly();
+        });
+        titleIndex.load();
+
+        assertThat(titleIndex.search("phantom", 10)).isEmpty();
+        assertThat(titleIndex.search("steady", 10)).containsExactly(bookId);
+    }
+
+    private long createAuthor(String name) throws Exception {
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"" + name + "\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(author.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+    }
+
+    private long createBook(String title, long authorId) throws Exception {
+        String book = mockMvc.perform(post("/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"" + title + "\", \"pages\": 10, \"publicationDate\": \"2020-01-01\", \"authorId\": " + authorId + "}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(book.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+    }
+
+    private void insertBehindApi(long id, String title, long authorId, Instant modified) {
+        jdbcTemplate.update(
+            "INSERT INTO book (id, title, pages, publication_date, author_id, created_date, last_modified_date) VALUES (?, ?, 1, DATE '2020-01-01', ?, ?, ?)",
+            id, title, authorId, Timestamp.from(modified), Timestamp.from(modified)
+        );
+    }
+}
@@ -0,0 +1,137 @@
+package com.capgemini.twilight.assessment;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import com.capgemini.twilight.assessment.pagination.ResponseStreamWriter;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs on its own database: the streams read in their own transaction, which only sees committed books.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:wire_format_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class WireFormatIntegrationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final TypeReference<List<BookView>> BOOK_VIEWS = new TypeReference<>() {
+    };
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String author = mockMvc.perform(post("/author")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Binary Author\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        long authorId = Long.parseLong(author.replaceAll("^\\{\"id\":(\\d+).*", "$1"));
+        for (int i = 1; i <= 3; i++) {
+            mockMvc.perform(post("/book")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"title\": \"Binary Book " + i + "\", \"pages\": " + (100 * i) + ", "
+                        + "\"publicationDate\": \"200" + i + "-02-03\", \"authorId\": " + authorId + "}"))
+                .andExpect(status().isCreated());
+        }
+    }
+
+    @Test
+    void testBookPageIsServedAsSmileWithoutLoss() throws Exception {
+        byte[] json = mockMvc.perform(get("/book").param("size", "100"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/book").param("size", "100").accept(SMILE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(SMILE))
+            .andExpect(header().string(HttpHeaders.VARY, "Accept"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(smileMapper.readValue(smile, BOOK_VIEWS)).isEqualTo(objectMapper.readValue(json, BOOK_VIEWS));
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    @Test
+    void testEachEncodingHasItsOwnEntityTag() throws Exception {
+        String jsonTag = mockMvc.perform(get("/book").param("size", "100"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String smileTag = mockMvc.perform(get("/book").param("size", "100").accept(SMILE))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(smileTag).isNotEqualTo(jsonTag);
+
+        // a cached JSON body does not validate the Smile one, and vice versa
+        mockMvc.perform(get("/book").param("size", "100").accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(SMILE));
+        mockMvc.perform(get("/book").param("size", "100").accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, smileTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, smileTag));
+        mockMvc.perform(get("/book").param("size", "100").header(HttpHeaders.IF_NONE_MATCH, smileTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, jsonTag));
+    }
+
+    @Test
+    void testByDateSearchIsServedAsCborWithTheRequestedFields() throws Exception {
+        byte[] cbor = mockMvc.perform(get("/book/search")
+                .param("query", "by-date")
+                .param("fromDate", "2001-01-01")
+                .param("toDate", "2003-12-31")
+                .param("fields", "id,publicationDate")
+                .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        List<Map<String, Object>> books = cborMapper.readValue(cbor, new TypeReference<>() {
+        });
+        assertThat(books).hasSizeGreaterThanOrEqualTo(3)
+            .allSatisfy(book -> assertThat(book).containsOnlyKeys("id", "publicationDate"));
+        assertThat(books.get(0).get("publicationDate")).isInstanceOf(List.class);
+    }
+
+    @Test
+    void testAllBooksStreamAsCborSequence() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/book").accept(ResponseStreamWriter.APPLICATION_CBOR_SEQ))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        byte[] cbor = mockMvc.perform(asyncDispatch(stream))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ResponseStreamWriter.APPLICATION_CBOR_SEQ))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        List<BookView> books = cborMapper.readerFor(BookView.class).<BookView>readValues(cbor).readAll();
+        assertThat(books).extracting(BookView::title).contains("Binary Book 1", "Binary Book 2", "Binary Book 3");
+    }
+}
@@ -0,0 +1,27 @@
+package com.capgemini.twilight.assessment.config;
+
+import com.capgemini.twilight.assessment.book.dto.BookView;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApplicationRuntimeHintsTest {
+
+    @Test
+    void testHintsCoverQueryDtosDriverAndCacheConfiguration() {
+        RuntimeHints hints = new RuntimeHints();
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onConstructor(BookView.class.getDeclaredConstructors()[0])).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of("com.mysql.cj.jdbc.Driver"))
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("hibernate-cache.conf")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/mysql/V1__baseline.sql")).accepts(hints);
+    }
+}
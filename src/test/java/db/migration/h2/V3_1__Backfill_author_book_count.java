@@ -0,0 +1,7 @@
+package db.migration.h2;
+
+/**
+ * The MySQL backfill, whose statements H2 runs as they are.
+ */
+public class V3_1__Backfill_author_book_count extends db.migration.mysql.V3_1__Backfill_author_book_count {
+}
@@ -0,0 +1,24 @@
+CREATE TABLE author (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    created_date TIMESTAMP(6) WITH TIME ZONE,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE book (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    author_id BIGINT NOT NULL,
+    created_date TIMESTAMP(6) WITH TIME ZONE,
+    last_modified_date TIMESTAMP(6) WITH TIME ZONE,
+    pages INTEGER,
+    publication_date DATE,
+    title VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT FKklnrv3weler2ftkweewlky958 FOREIGN KEY (author_id) REFERENCES author (id)
+);
+
+CREATE INDEX idx_author_last_modified_date ON author (last_modified_date);
+CREATE INDEX idx_book_publication_date ON book (publication_date);
+CREATE INDEX idx_book_pages ON book (pages);
+CREATE INDEX idx_book_last_modified_date ON book (last_modified_date);
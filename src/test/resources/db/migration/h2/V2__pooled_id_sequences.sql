@@ -0,0 +1,2 @@
+CREATE SEQUENCE author_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
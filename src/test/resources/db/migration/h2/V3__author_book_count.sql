@@ -0,0 +1,2 @@
+ALTER TABLE author ADD COLUMN book_count BIGINT DEFAULT 0 NOT NULL;
+CREATE INDEX idx_author_book_count ON author (book_count);
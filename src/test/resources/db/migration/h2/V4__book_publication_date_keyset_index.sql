@@ -0,0 +1,2 @@
+CREATE INDEX idx_book_publication_date_id ON book (publication_date, id);
+DROP INDEX idx_book_publication_date;
@@ -0,0 +1,2 @@
+ALTER TABLE author ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE book ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,10 @@
+CREATE TABLE change_feed (
+    id BIGINT NOT NULL,
+    entity VARCHAR(16) NOT NULL CHECK (entity IN ('AUTHOR', 'BOOK')),
+    entity_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL CHECK (type IN ('CREATED', 'UPDATED', 'DELETED')),
+    payload CLOB,
+    occurred_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+CREATE INDEX idx_change_feed_occurred_at ON change_feed (occurred_at);
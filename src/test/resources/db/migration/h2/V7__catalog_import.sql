@@ -0,0 +1,24 @@
+CREATE TABLE catalog_import (
+    id VARCHAR(100) NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    status VARCHAR(16) NOT NULL CHECK (status IN ('RUNNING', 'FAILED', 'COMPLETED')),
+    started_at TIMESTAMP(6) WITH TIME ZONE,
+    finished_at TIMESTAMP(6) WITH TIME ZONE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE catalog_import_chunk (
+    import_id VARCHAR(100) NOT NULL,
+    chunk_index INTEGER NOT NULL,
+    authors_imported INTEGER NOT NULL,
+    books_imported INTEGER NOT NULL,
+    rejected INTEGER NOT NULL,
+    PRIMARY KEY (import_id, chunk_index)
+);
+
+CREATE TABLE catalog_import_author (
+    import_id VARCHAR(100) NOT NULL,
+    source_id BIGINT NOT NULL,
+    author_id BIGINT NOT NULL,
+    PRIMARY KEY (import_id, source_id)
+);
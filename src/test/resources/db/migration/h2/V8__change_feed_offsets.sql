@@ -0,0 +1,6 @@
+CREATE TABLE change_feed_offsets (
+    id INTEGER NOT NULL,
+    next_offset BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+INSERT INTO change_feed_offsets (id, next_offset) SELECT 1, COALESCE(MAX(id), 0) + 1 FROM change_feed;